@@ -0,0 +1,22 @@
+package com.collabera.libraryapi.config;
+
+import com.collabera.libraryapi.domain.dto.loan.LoanStatus;
+import com.collabera.libraryapi.service.BookExportService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Locale;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /** Lets clients write {@code format=csv} or {@code status=active}; unknown values still fail binding with a 400. */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, BookExportService.Format.class,
+                s -> BookExportService.Format.valueOf(s.trim().toUpperCase(Locale.ROOT)));
+        registry.addConverter(String.class, LoanStatus.class,
+                s -> LoanStatus.valueOf(s.trim().toUpperCase(Locale.ROOT)));
+    }
+}
@@ -3,6 +3,6 @@ package com.collabera.libraryapi.core.constants;
 public final class DbConstraints {
     private DbConstraints() {}
     public static final String UK_BORROWERS_EMAIL = "uk_borrowers_email";
-    public static final String UK_BOOK_CATALOG_ISBN = "uk_book_catalog_isbn";
+    public static final String PK_BOOK_CATALOG = "pk_book_catalog";
     public static final String UQ_LOANS_BOOK_ACTIVE = "uq_loans_book_active";
 }
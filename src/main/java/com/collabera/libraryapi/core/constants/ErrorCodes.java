@@ -12,12 +12,21 @@ public final class ErrorCodes {
     // Domain specific
     public static final String BORROWER_NOT_FOUND = "BORROWER_NOT_FOUND";
     public static final String BOOK_NOT_FOUND = "BOOK_NOT_FOUND";
+    public static final String CATALOG_NOT_FOUND = "CATALOG_NOT_FOUND";
     public static final String ACTIVE_LOAN_NOT_FOUND = "ACTIVE_LOAN_NOT_FOUND";
     public static final String BOOK_ALREADY_BORROWED = "BOOK_ALREADY_BORROWED";
     public static final String CONCURRENT_MODIFICATION = "CONCURRENT_MODIFICATION";
     public static final String PAGE_SIZE_LIMIT = "PAGE_SIZE_LIMIT";
+    public static final String INVALID_CURSOR = "INVALID_CURSOR";
     public static final String ISBN_METADATA_MISMATCH = "ISBN_METADATA_MISMATCH";
     public static final String WRONG_BORROWER = "WRONG_BORROWER";
+    public static final String IMPORT_NOT_FOUND = "IMPORT_NOT_FOUND";
+    public static final String INVALID_IMPORT_FILE = "INVALID_IMPORT_FILE";
+    public static final String TOO_MANY_IMPORTS = "TOO_MANY_IMPORTS";
+    public static final String HOLD_NOT_FOUND = "HOLD_NOT_FOUND";
+    public static final String HOLD_ALREADY_PLACED = "HOLD_ALREADY_PLACED";
+    public static final String HOLD_NOT_WAITING = "HOLD_NOT_WAITING";
+    public static final String COPY_AVAILABLE = "COPY_AVAILABLE";
 
     // Data constraints
     public static final String EMAIL_ALREADY_EXISTS = "EMAIL_ALREADY_EXISTS";
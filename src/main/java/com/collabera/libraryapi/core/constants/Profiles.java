@@ -0,0 +1,12 @@
+package com.collabera.libraryapi.core.constants;
+
+/**
+ * Profile expressions for beans that depend on the database engine behind the active profile.
+ */
+public final class Profiles {
+    private Profiles() {}
+    /** Profiles backed by PostgreSQL ({@code dev}, {@code prod}). */
+    public static final String POSTGRES = "dev | prod";
+    /** Everything else runs on the embedded H2 database ({@code local}, {@code test}). */
+    public static final String EMBEDDED = "!dev & !prod";
+}
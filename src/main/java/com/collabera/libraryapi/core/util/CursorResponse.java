@@ -0,0 +1,9 @@
+package com.collabera.libraryapi.core.util;
+
+import java.util.List;
+
+/**
+ * Keyset page: {@code nextCursor} is an opaque token for the following page, {@code null} on the last one.
+ */
+public record CursorResponse<T>(List<T> content, int size, String nextCursor) {
+}
@@ -0,0 +1,33 @@
+package com.collabera.libraryapi.core.util;
+
+import com.collabera.libraryapi.web.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Encodes the sort key of the last row of a keyset page into an opaque, URL-safe token.
+ */
+public final class Cursors {
+    private static final String SEPARATOR = "\u001F";
+    private static final Pattern SPLIT = Pattern.compile(SEPARATOR);
+
+    private Cursors() {}
+
+    public static String encode(String... keys) {
+        byte[] raw = String.join(SEPARATOR, keys).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static String[] decode(String token, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] keys = SPLIT.split(raw, -1);
+            if (keys.length != expectedKeys) throw new InvalidCursorException();
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.collabera.libraryapi.core.util;
+
+import java.util.Optional;
+
+/**
+ * An ISBN held as its 13-digit EAN ({@code 978}/{@code 979} prefix), the catalog key form.
+ * <p>
+ * Text is read in a single pass without a regex or intermediate strings: an optional {@code ISBN},
+ * {@code ISBN-10} or {@code ISBN-13} label (with optional colon), then 10 or 13 digits in which
+ * spaces and hyphens are ignored; an ISBN-10 may end in {@code X}. The check digit is verified, and an
+ * ISBN-10 is converted to its ISBN-13, so both spellings of a book resolve to the same catalog row.
+ * Validation ({@link #isValid}) allocates nothing; {@link #toString()} allocates only the result.
+ */
+public final class Isbn implements Comparable<Isbn> {
+    private static final long INVALID = -1;
+    private static final long ISBN10_PREFIX = 978L * 1_000_000_000L;
+    /** Weighted sum of the {@code 978} prefix for the ISBN-13 check digit: 9*1 + 7*3 + 8*1. */
+    private static final int ISBN10_PREFIX_SUM = 38;
+
+    private final long ean;
+
+    private Isbn(long ean) {
+        this.ean = ean;
+    }
+
+    /** @throws IllegalArgumentException when {@code text} is not a valid ISBN-10/13 */
+    public static Isbn parse(CharSequence text) {
+        long ean = ean(text);
+        if (ean == INVALID) throw new IllegalArgumentException("Invalid ISBN: " + text);
+        return new Isbn(ean);
+    }
+
+    public static Optional<Isbn> tryParse(CharSequence text) {
+        long ean = ean(text);
+        return ean == INVALID ? Optional.empty() : Optional.of(new Isbn(ean));
+    }
+
+    public static boolean isValid(CharSequence text) {
+        return ean(text) != INVALID;
+    }
+
+    /** Catalog key for valid ISBN text: the 13 digits, e.g. {@code 0-13-468599-7} becomes {@code 9780134685991}. */
+    public static String normalize(CharSequence text) {
+        return parse(text).toString();
+    }
+
+    /** The 13 digits as a number. */
+    public long ean() {
+        return ean;
+    }
+
+    @Override
+    public String toString() {
+        char[] digits = new char[13];
+        long rest = ean;
+        for (int i = 12; i >= 0; i--) {
+            digits[i] = (char) ('0' + rest % 10);
+            rest /= 10;
+        }
+        return new String(digits);
+    }
+
+    @Override
+    public int compareTo(Isbn other) {
+        return Long.compare(ean, other.ean);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Isbn other && other.ean == ean;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(ean);
+    }
+
+    /** The EAN of {@code text}, or {@link #INVALID}. */
+    private static long ean(CharSequence text) {
+        if (text == null) return INVALID;
+        int len = text.length();
+        int i = skipLabel(text, skipSeparators(text, 0));
+        long value = 0;
+        int digits = 0;
+        int sum10 = 0;
+        int sum13 = 0;
+        // Weighted sum of the first nine digits at their ISBN-13 positions (after "978")
+        int sum10to13 = 0;
+        boolean x = false;
+        for (; i < len; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (x || digits == 13) return INVALID;
+                int d = c - '0';
+                value = value * 10 + d;
+                sum10 += d * (10 - digits);
+                sum13 += (digits & 1) == 0 ? d : 3 * d;
+                if (digits < 9) sum10to13 += (digits & 1) == 0 ? 3 * d : d;
+                digits++;
+            } else if (c == 'X' || c == 'x') {
+                if (digits != 9) return INVALID;
+                sum10 += 10;
+                digits++;
+                x = true;
+            } else if (!isSeparator(c)) {
+                return INVALID;
+            }
+        }
+        if (digits == 13) {
+            long prefix = value / 10_000_000_000L;
+            return (prefix == 978 || prefix == 979) && sum13 % 10 == 0 ? value : INVALID;
+        }
+        if (digits == 10 && sum10 % 11 == 0) {
+            long first9 = x ? value : value / 10;
+            int check = (10 - (ISBN10_PREFIX_SUM + sum10to13) % 10) % 10;
+            return (ISBN10_PREFIX + first9) * 10 + check;
+        }
+        return INVALID;
+    }
+
+    /**
+     * Skips {@code ISBN}, {@code ISBN-10} or {@code ISBN-13}, an optional colon and separators. The
+     * unhyphenated {@code ISBN10:}/{@code ISBN13:} (what older key normalization left behind) needs the
+     * colon, so the digits of {@code ISBN 1...} are not taken for a label.
+     */
+    private static int skipLabel(CharSequence text, int i) {
+        int len = text.length();
+        if (i + 4 > len || !regionIs(text, i, "ISBN")) return i;
+        i += 4;
+        boolean hyphen = i < len && text.charAt(i) == '-';
+        int at = hyphen ? i + 1 : i;
+        if (at + 2 <= len && text.charAt(at) == '1' && (text.charAt(at + 1) == '0' || text.charAt(at + 1) == '3')
+                && (hyphen || (at + 2 < len && text.charAt(at + 2) == ':'))) {
+            i = at + 2;
+        }
+        if (i < len && text.charAt(i) == ':') i++;
+        return skipSeparators(text, i);
+    }
+
+    private static int skipSeparators(CharSequence text, int i) {
+        while (i < text.length() && isSeparator(text.charAt(i))) i++;
+        return i;
+    }
+
+    private static boolean regionIs(CharSequence text, int at, String expected) {
+        for (int j = 0; j < expected.length(); j++) {
+            if (Character.toUpperCase(text.charAt(at + j)) != expected.charAt(j)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '-' || c == ' ' || c == '\t';
+    }
+}
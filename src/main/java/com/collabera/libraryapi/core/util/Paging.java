@@ -2,6 +2,7 @@ package com.collabera.libraryapi.core.util;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 public final class Paging {
@@ -17,4 +18,8 @@ public final class Paging {
     public static <T> PageResponse<T> toResponse(Page<T> page, Pageable pageable) {
         return PageResponse.of(page, echoSort(pageable.getSort()));
     }
+
+    public static <T> SliceResponse<T> toSliceResponse(Slice<T> slice, Pageable pageable) {
+        return SliceResponse.of(slice, echoSort(pageable.getSort()));
+    }
 }
@@ -0,0 +1,17 @@
+package com.collabera.libraryapi.core.util;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Count-free page: only says whether another page follows.
+ */
+public record SliceResponse<T>(
+        List<T> content, int page, int size, boolean hasNext, String sort
+) {
+    public static <T> SliceResponse<T> of(Slice<T> slice, String sortEcho) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.hasNext(), sortEcho == null ? "" : sortEcho);
+    }
+}
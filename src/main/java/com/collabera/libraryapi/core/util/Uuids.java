@@ -0,0 +1,41 @@
+package com.collabera.libraryapi.core.util;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 (RFC 9562) identifiers.
+ * <p>
+ * The top 48 bits are the Unix time in milliseconds, so new keys land at the right-hand edge of a
+ * B-tree index instead of at random pages. The 12-bit {@code rand_a} field is a counter that restarts
+ * each millisecond, which keeps ids from this JVM strictly increasing even within one millisecond;
+ * when it overflows the timestamp is advanced by one. The remaining 62 bits are random.
+ */
+public final class Uuids {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+
+    /** Last issued {@code (millis << 12) | counter}. */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private Uuids() {}
+
+    public static UUID v7() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long stamp = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        long msb = (stamp >>> COUNTER_BITS) << 16 | VERSION_7 | (stamp & 0xFFF);
+        long lsb = RANDOM.nextLong() & VARIANT_MASK | VARIANT_RFC;
+        return new UUID(msb, lsb);
+    }
+
+    /** Creation time of a version 7 id, to the millisecond. */
+    public static Instant timestamp(UUID id) {
+        if (id.version() != 7) throw new IllegalArgumentException("Not a version 7 UUID: " + id);
+        return Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16);
+    }
+}
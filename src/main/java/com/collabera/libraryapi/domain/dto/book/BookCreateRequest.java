@@ -1,18 +1,15 @@
 package com.collabera.libraryapi.domain.dto.book;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import com.collabera.libraryapi.validation.ValidIsbn;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 
 @Schema(description = "Request to create a new book catalog entry (and allow copies)")
 public record BookCreateRequest(
 
-        @Schema(description = "ISBN-10 or ISBN-13", example = "9780134685991")
+        @Schema(description = "ISBN-10 or ISBN-13 with a valid check digit; hyphens/spaces allowed. Stored as ISBN-13", example = "9780134685991")
         @NotBlank(message = "ISBN cannot be blank")
-        @Pattern(
-                regexp = "^(?:ISBN(?:-1[03])?:? )?(?=[-0-9Xx ]{10,17}$)(?:97[89][- ]?)?[0-9]{1,5}[- ]?[0-9]+[- ]?[0-9]+[- ]?[0-9Xx]$",
-                message = "Invalid ISBN-10/13 format"
-        )
+        @ValidIsbn
         String isbn,
 
         @Schema(description = "Title", example = "Effective Java")
@@ -17,4 +17,8 @@ public record BookResponse(
         @Schema(example = "false")
         boolean borrowed
 ) {
+    /** Query projection: the catalog key is the ISBN-13 as a number, formatted here rather than cast in SQL. */
+    public BookResponse(UUID id, Long isbn, String title, String author, boolean borrowed) {
+        this(id, isbn.toString(), title, author, borrowed);
+    }
 }
@@ -0,0 +1,13 @@
+package com.collabera.libraryapi.domain.dto.book;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Type-ahead suggestion: a distinct catalog title or author")
+public record BookSuggestion(
+        @Schema(example = "Effective Java")
+        String text,
+        @Schema(example = "TITLE")
+        Kind kind
+) {
+    public enum Kind { TITLE, AUTHOR }
+}
@@ -0,0 +1,16 @@
+package com.collabera.libraryapi.domain.dto.book;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Copies to register in one transaction; items are validated individually")
+public record BulkBookCreateRequest(
+        @NotEmpty(message = "Items cannot be empty")
+        @Size(max = BulkBookCreateRequest.MAX_ITEMS, message = "At most " + BulkBookCreateRequest.MAX_ITEMS + " items per request")
+        List<BookCreateRequest> items
+) {
+    public static final int MAX_ITEMS = 5000;
+}
@@ -0,0 +1,19 @@
+package com.collabera.libraryapi.domain.dto.book;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Per-item results of a bulk registration, in request order")
+public record BulkBookCreateResponse(
+        @Schema(example = "998")
+        int created,
+        @Schema(example = "2")
+        int rejected,
+        List<BulkItemResult> items
+) {
+    public static BulkBookCreateResponse of(List<BulkItemResult> items) {
+        int created = (int) items.stream().filter(i -> i.status() == BulkItemResult.Status.CREATED).count();
+        return new BulkBookCreateResponse(created, items.size() - created, items);
+    }
+}
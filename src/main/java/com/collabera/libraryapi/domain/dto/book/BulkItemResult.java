@@ -0,0 +1,32 @@
+package com.collabera.libraryapi.domain.dto.book;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Outcome of one bulk item, by its position in the request")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(
+        @Schema(example = "0")
+        int index,
+        @Schema(example = "CREATED")
+        Status status,
+        @Schema(example = "9780134685991")
+        String isbn,
+        @Schema(example = "f8f6a9f2-24de-4f61-9c76-f0f74b07a99b")
+        UUID id,
+        @Schema(example = "ISBN_METADATA_MISMATCH")
+        String code,
+        String message
+) {
+    public enum Status { CREATED, REJECTED }
+
+    public static BulkItemResult created(int index, String isbn, UUID id) {
+        return new BulkItemResult(index, Status.CREATED, isbn, id, null, null);
+    }
+
+    public static BulkItemResult rejected(int index, String isbn, String code, String message) {
+        return new BulkItemResult(index, Status.REJECTED, isbn, null, code, message);
+    }
+}
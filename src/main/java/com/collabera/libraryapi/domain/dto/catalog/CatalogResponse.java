@@ -0,0 +1,22 @@
+package com.collabera.libraryapi.domain.dto.catalog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Catalog entry (one per ISBN) with copy availability")
+public record CatalogResponse(
+        @Schema(example = "9780134685991")
+        String isbn,
+        @Schema(example = "Effective Java")
+        String title,
+        @Schema(example = "Joshua Bloch")
+        String author,
+        @Schema(example = "3")
+        int totalCopies,
+        @Schema(example = "1")
+        int availableCopies
+) {
+    /** Query projection: the catalog key is the ISBN-13 as a number, formatted here rather than cast in SQL. */
+    public CatalogResponse(Long isbn, String title, String author, int totalCopies, int availableCopies) {
+        this(isbn.toString(), title, author, totalCopies, availableCopies);
+    }
+}
@@ -0,0 +1,20 @@
+package com.collabera.libraryapi.domain.dto.hold;
+
+import com.collabera.libraryapi.validation.ValidIsbn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+@Schema(description = "Request to join the waitlist of a title whose copies are all borrowed")
+public record HoldCreateRequest(
+        @Schema(description = "ISBN-10 or ISBN-13 of the title", example = "9780134685991")
+        @NotBlank(message = "ISBN cannot be blank")
+        @ValidIsbn
+        String isbn,
+        @Schema(example = "b3b83a9a-94a3-4d7e-9b2a-7b14a6fa9f12")
+        @NotNull(message = "Borrower ID is required")
+        UUID borrowerId
+) {
+}
@@ -0,0 +1,25 @@
+package com.collabera.libraryapi.domain.dto.hold;
+
+import com.collabera.libraryapi.domain.entity.Hold;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "A place in a title's waitlist; once FULFILLED, loanId is the loan of the copy handed over")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HoldResponse(
+        UUID id,
+        @Schema(example = "9780134685991")
+        String isbn,
+        UUID borrowerId,
+        @Schema(example = "WAITING")
+        Hold.Status status,
+        @Schema(description = "1 for the next hold to be served; only while WAITING", example = "3")
+        Long position,
+        UUID loanId,
+        Instant createdAt,
+        Instant fulfilledAt
+) {
+}
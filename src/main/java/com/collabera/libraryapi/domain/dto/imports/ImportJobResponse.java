@@ -0,0 +1,32 @@
+package com.collabera.libraryapi.domain.dto.imports;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Progress of a catalog import; poll until status is no longer RUNNING")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportJobResponse(
+        UUID id,
+        @Schema(example = "RUNNING")
+        Status status,
+        @Schema(example = "CSV")
+        String format,
+        @Schema(description = "Records read from the file so far", example = "120000")
+        long rowsRead,
+        @Schema(description = "Copies committed so far", example = "119950")
+        long imported,
+        @Schema(example = "50")
+        long rejected,
+        @Schema(description = "First rejected rows (capped at library.import.max-errors)")
+        List<ImportRowError> errors,
+        @Schema(description = "Why the job stopped; rows committed before the failure stay imported")
+        String failure,
+        Instant startedAt,
+        Instant finishedAt
+) {
+    public enum Status { RUNNING, COMPLETED, FAILED }
+}
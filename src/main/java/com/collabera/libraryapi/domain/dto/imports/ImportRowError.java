@@ -0,0 +1,12 @@
+package com.collabera.libraryapi.domain.dto.imports;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A row that was not imported")
+public record ImportRowError(
+        @Schema(description = "1-based line in the uploaded file where the record starts", example = "42")
+        long line,
+        @Schema(example = "ISBN_METADATA_MISMATCH")
+        String code,
+        String message
+) {}
@@ -0,0 +1,31 @@
+package com.collabera.libraryapi.domain.dto.loan;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Request to borrow several books at once; either all are borrowed or none")
+public record CheckoutRequest(
+        @Schema(example = "b3b83a9a-94a3-4d7e-9b2a-7b14a6fa9f12")
+        @NotNull(message = "Borrower ID is required")
+        UUID borrowerId,
+        @NotEmpty(message = "Book IDs cannot be empty")
+        @Size(max = CheckoutRequest.MAX_BOOKS, message = "At most " + CheckoutRequest.MAX_BOOKS + " books per checkout")
+        List<@NotNull(message = "Book ID is required") UUID> bookIds
+) {
+    public static final int MAX_BOOKS = 50;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "Book IDs must be distinct")
+    public boolean isBookIdsDistinct() {
+        return bookIds == null || new HashSet<>(bookIds).size() == bookIds.size();
+    }
+}
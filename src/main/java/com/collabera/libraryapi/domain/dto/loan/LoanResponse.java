@@ -15,6 +15,10 @@ public record LoanResponse(
         BorrowerResponse borrower,
         @Schema(example = "2025-09-20T10:15:30Z")
         Instant borrowedAt,
+        @Schema(example = "2025-10-04T10:15:30Z")
+        Instant dueAt,
         @Schema(example = "null")
-        Instant returnedAt
+        Instant returnedAt,
+        @Schema(example = "null", description = "When the overdue scan found the loan past due")
+        Instant overdueAt
 ) {}
@@ -0,0 +1,7 @@
+package com.collabera.libraryapi.domain.dto.loan;
+
+/** Filter for loan listings: loans still out, or loans already returned. */
+public enum LoanStatus {
+    ACTIVE,
+    RETURNED
+}
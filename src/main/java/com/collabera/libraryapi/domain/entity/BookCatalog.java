@@ -16,13 +16,20 @@ import lombok.Setter;
 @AllArgsConstructor
 public class BookCatalog extends Auditable {
 
+    /** The ISBN-13 as a number; always 13 digits ({@code 978}/{@code 979} prefix), so {@code toString} is the ISBN. */
     @Id
-    @Column(length = 32)
-    private String isbn;
+    private Long isbn;
 
     @Column(nullable = false)
     private String title;
 
     @Column(nullable = false)
     private String author;
+
+    /** Maintained only by the counter updates in {@code BookCatalogRepository}; never written from the entity. */
+    @Column(name = "total_copies", nullable = false, insertable = false, updatable = false)
+    private int totalCopies;
+
+    @Column(name = "available_copies", nullable = false, insertable = false, updatable = false)
+    private int availableCopies;
 }
@@ -6,7 +6,6 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.util.UUID;
 
@@ -21,7 +20,7 @@ public class Borrower extends Auditable {
 
     @Id
     @GeneratedValue
-    @UuidGenerator
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
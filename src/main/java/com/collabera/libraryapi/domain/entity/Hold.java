@@ -0,0 +1,48 @@
+package com.collabera.libraryapi.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static jakarta.persistence.FetchType.LAZY;
+
+/** A borrower's place in the waitlist of one ISBN; the time-ordered id is the queue order. */
+@Entity
+@Table(name = "holds")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Hold extends Auditable {
+
+    public enum Status { WAITING, FULFILLED, CANCELLED }
+
+    @Id
+    @GeneratedValue
+    @TimeOrderedUuid
+    private UUID id;
+
+    @ManyToOne(optional = false, fetch = LAZY)
+    @JoinColumn(name = "catalog_isbn", nullable = false)
+    private BookCatalog catalog;
+
+    @ManyToOne(optional = false, fetch = LAZY)
+    @JoinColumn(name = "borrower_id", nullable = false)
+    private Borrower borrower;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    /** The loan the hold turned into; set together with {@code FULFILLED}. The loan may since have been archived. */
+    private UUID loanId;
+
+    private Instant fulfilledAt;
+}
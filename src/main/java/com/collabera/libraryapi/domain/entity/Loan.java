@@ -6,7 +6,6 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -24,7 +23,7 @@ public class Loan extends Auditable {
 
     @Id
     @GeneratedValue
-    @UuidGenerator
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(optional = false, fetch = LAZY)
@@ -39,4 +38,11 @@ public class Loan extends Auditable {
     private Instant borrowedAt;
 
     private Instant returnedAt;
+
+    /** Null only on loans returned before due dates were introduced. */
+    private Instant dueAt;
+
+    /** When the overdue scan found the loan past due; written only by {@code LoanRepository.markOverdue}. */
+    @Column(insertable = false, updatable = false)
+    private Instant overdueAt;
 }
@@ -0,0 +1,44 @@
+package com.collabera.libraryapi.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static jakarta.persistence.FetchType.LAZY;
+
+/**
+ * A loan as history sees it, whether still in {@code loans} or already moved to
+ * {@code loans_archive}; read through the {@code loan_history} view. Loans are written only as
+ * {@link Loan}.
+ */
+@Entity
+@Immutable
+@Table(name = "loan_history")
+@Getter
+@NoArgsConstructor
+public class LoanRecord {
+
+    @Id
+    private UUID id;
+
+    @ManyToOne(optional = false, fetch = LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    @ManyToOne(optional = false, fetch = LAZY)
+    @JoinColumn(name = "borrower_id", nullable = false)
+    private Borrower borrower;
+
+    @Column(nullable = false)
+    private Instant borrowedAt;
+
+    private Instant dueAt;
+
+    private Instant returnedAt;
+
+    private Instant overdueAt;
+}
@@ -0,0 +1,23 @@
+package com.collabera.libraryapi.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/** A named job's lease; taken, renewed and given up only through {@code SchedulerLeaseRepository}. */
+@Entity
+@Table(name = "scheduler_leases")
+@Getter
+@NoArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
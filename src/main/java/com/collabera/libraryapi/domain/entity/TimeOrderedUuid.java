@@ -0,0 +1,21 @@
+package com.collabera.libraryapi.domain.entity;
+
+import com.collabera.libraryapi.core.util.Uuids;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the id with {@link Uuids#v7()}: time-ordered, so inserts append to the primary key index
+ * and ids sort by creation time. Existing random (v4) ids stay valid; the column type is unchanged.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeOrderedUuid {
+}
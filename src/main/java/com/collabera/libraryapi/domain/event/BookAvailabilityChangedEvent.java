@@ -0,0 +1,13 @@
+package com.collabera.libraryapi.domain.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/** Published when copies flip between borrowed and available (borrow, return). */
+public record BookAvailabilityChangedEvent(Collection<UUID> bookIds) {
+
+    public static BookAvailabilityChangedEvent of(UUID bookId) {
+        return new BookAvailabilityChangedEvent(List.of(bookId));
+    }
+}
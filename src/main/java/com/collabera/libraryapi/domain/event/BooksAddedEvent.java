@@ -0,0 +1,26 @@
+package com.collabera.libraryapi.domain.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Published when physical copies are registered. {@code catalogs} are the catalogs that gained
+ * copies, so listeners caching search results can drop only what the new rows could affect.
+ */
+public record BooksAddedEvent(Collection<Catalog> catalogs) {
+
+    public static BooksAddedEvent of(String isbn, String title, String author) {
+        return new BooksAddedEvent(List.of(new Catalog(isbn, title, author)));
+    }
+
+    public record Catalog(String isbn, String title, String author) {
+        /** Same rule as {@code BookRepository.bySearch}; {@code term} must already be lower-cased. */
+        public boolean matches(String term) {
+            return term.isEmpty()
+                    || title.toLowerCase(Locale.ROOT).contains(term)
+                    || author.toLowerCase(Locale.ROOT).contains(term)
+                    || isbn.toLowerCase(Locale.ROOT).contains(term);
+        }
+    }
+}
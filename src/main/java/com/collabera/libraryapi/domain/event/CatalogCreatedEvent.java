@@ -0,0 +1,8 @@
+package com.collabera.libraryapi.domain.event;
+
+/**
+ * Published when a new {@code BookCatalog} row is inserted. Listeners that keep
+ * in-memory views of the catalog react after the surrounding transaction commits.
+ */
+public record CatalogCreatedEvent(String isbn, String title, String author) {
+}
@@ -0,0 +1,9 @@
+package com.collabera.libraryapi.domain.event;
+
+import com.collabera.libraryapi.domain.entity.Hold;
+
+import java.util.UUID;
+
+/** Published when a hold leaves {@code WAITING}: handed a copy, or cancelled. */
+public record HoldStatusChangedEvent(UUID holdId, Hold.Status status) {
+}
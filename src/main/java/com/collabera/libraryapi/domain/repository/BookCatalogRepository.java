@@ -1,11 +1,99 @@
 package com.collabera.libraryapi.domain.repository;
 
+import com.collabera.libraryapi.domain.dto.catalog.CatalogResponse;
 import com.collabera.libraryapi.domain.entity.BookCatalog;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 
+import java.util.List;
 import java.util.Optional;
-public interface BookCatalogRepository extends JpaRepository<BookCatalog, String>, JpaSpecificationExecutor<BookCatalog> {
-    Optional<BookCatalog> findByIsbnIgnoreCase(String isbn);
-    boolean existsByIsbnIgnoreCase(String isbn);
+import java.util.UUID;
+
+public interface BookCatalogRepository extends JpaRepository<BookCatalog, Long>, JpaSpecificationExecutor<BookCatalog>, BookCatalogRepositoryCustom {
+    @Query(value = """
+            select new com.collabera.libraryapi.domain.dto.catalog.CatalogResponse(
+                c.isbn, c.title, c.author, c.totalCopies, c.availableCopies)
+            from BookCatalog c
+            where :onlyAvailable = false or c.availableCopies > 0
+            """, countQuery = "select count(c) from BookCatalog c where :onlyAvailable = false or c.availableCopies > 0")
+    Page<CatalogResponse> findResponses(boolean onlyAvailable, Pageable pageable);
+
+    @Query("select new com.collabera.libraryapi.domain.dto.catalog.CatalogResponse(c.isbn, c.title, c.author, c.totalCopies, c.availableCopies) from BookCatalog c where c.isbn = :isbn")
+    Optional<CatalogResponse> findResponse(long isbn);
+
+    /**
+     * PostgreSQL: adds one available copy to catalog {@code isbn}, creating the row with {@code title}
+     * and {@code author} when it is absent, in one statement. Returns {@code true} when the row was
+     * inserted, {@code false} when an existing row with the same title and author was updated, and
+     * nothing when the existing row disagrees (the conflict update's {@code WHERE} skips it). A
+     * concurrent insert of the same ISBN waits for the other transaction instead of failing on
+     * {@code pk_book_catalog}.
+     */
+    @Query(value = """
+            insert into book_catalog as c (isbn, title, author, created_by, updated_by, total_copies, available_copies)
+            values (:isbn, :title, :author, :auditor, :auditor, 1, 1)
+            on conflict (isbn) do update
+                set total_copies = c.total_copies + 1, available_copies = c.available_copies + 1
+                where c.title = excluded.title and c.author = excluded.author
+            returning (c.xmax = 0)
+            """, nativeQuery = true)
+    Optional<Boolean> upsertCopy(long isbn, String title, String author, String auditor);
+
+    /**
+     * H2 counterpart of {@link #upsertCopy} as a {@code MERGE}, read back through {@code FINAL TABLE}.
+     * H2 has no {@code xmax}, so "inserted" is the row holding its first copy; catalogs are only ever
+     * created together with a copy.
+     */
+    @Query(value = """
+            select c.total_copies = 1 from final table (
+                merge into book_catalog c
+                using (values (cast(:isbn as bigint), cast(:title as varchar(255)), cast(:author as varchar(255)),
+                               cast(:auditor as varchar(255)))) s (isbn, title, author, auditor)
+                on c.isbn = s.isbn
+                when matched and c.title = s.title and c.author = s.author then
+                    update set total_copies = c.total_copies + 1, available_copies = c.available_copies + 1
+                when not matched then
+                    insert (isbn, title, author, created_by, updated_by, total_copies, available_copies)
+                    values (s.isbn, s.title, s.author, s.auditor, s.auditor, 1, 1)
+            ) c
+            """, nativeQuery = true)
+    Optional<Boolean> mergeCopy(long isbn, String title, String author, String auditor);
+
+    /**
+     * Locks the catalog row. Placing a hold takes it to read {@code availableCopies}; returns update
+     * the same row, so a copy cannot come back between that read and the hold being queued.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from BookCatalog c where c.isbn = :isbn")
+    Optional<BookCatalog> lockByIsbn(long isbn);
+
+    /**
+     * Moves the available counter of {@code bookId}'s catalog by {@code delta}; call only after the
+     * book's {@code borrowed} flag actually flipped in the same transaction.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update BookCatalog c set c.availableCopies = c.availableCopies + :delta where c.isbn = (select b.catalog.isbn from Book b where b.id = :bookId)")
+    int adjustAvailable(UUID bookId, int delta);
+
+    /** {@link #adjustAvailable} by catalog, for several copies of it at once. */
+    @Modifying(flushAutomatically = true)
+    @Query("update BookCatalog c set c.availableCopies = c.availableCopies + :delta where c.isbn = :isbn")
+    int adjustAvailableByIsbn(long isbn, int delta);
+
+    /**
+     * PostgreSQL only (needs the {@code db/vendor/postgresql} migrations): catalogs matching
+     * {@code like} on title/author/ISBN, ranked by full-text relevance to {@code term}.
+     */
+    @Query(value = """
+            select cast(c.isbn as text) from book_catalog c
+            where lower(c.title) like :like or lower(c.author) like :like or cast(c.isbn as text) like :like
+            order by ts_rank(c.search_vector, plainto_tsquery('simple', :term)) desc,
+                     similarity(lower(c.title), :term) desc,
+                     c.title
+            limit :limit
+            """, nativeQuery = true)
+    List<String> searchRanked(String term, String like, int limit);
 }
 
@@ -0,0 +1,24 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface BookCatalogRepositoryCustom {
+    /**
+     * PostgreSQL: inserts those of {@code catalogs} whose ISBN has no row yet, with no copies counted,
+     * as one {@code INSERT ... SELECT FROM unnest(...) ON CONFLICT (isbn) DO NOTHING} per
+     * {@code batchSize} rows. Returns the ISBNs this call inserted; an ISBN another transaction
+     * inserted first (even one still in flight, which the insert waits for) is skipped instead of
+     * failing on {@code pk_book_catalog}.
+     */
+    Set<Long> insertAbsent(Collection<BookCatalog> catalogs, String auditor, int batchSize);
+
+    /**
+     * H2 counterpart of {@link #insertAbsent}: a {@code MERGE} with only a {@code WHEN NOT MATCHED}
+     * branch per catalog, sent in JDBC batches of {@code batchSize}, whose update counts tell which
+     * rows were inserted.
+     */
+    Set<Long> mergeAbsent(Collection<BookCatalog> catalogs, String auditor, int batchSize);
+}
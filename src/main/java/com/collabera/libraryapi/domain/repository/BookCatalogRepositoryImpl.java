@@ -0,0 +1,83 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+class BookCatalogRepositoryImpl implements BookCatalogRepositoryCustom {
+    private static final String INSERT_ABSENT = """
+            insert into book_catalog (isbn, title, author, created_by, updated_by)
+            select s.isbn, s.title, s.author, ?, ?
+            from unnest(cast(? as bigint[]), cast(? as varchar[]), cast(? as varchar[])) as s (isbn, title, author)
+            on conflict (isbn) do nothing
+            returning isbn
+            """;
+
+    private static final String MERGE_ABSENT = """
+            merge into book_catalog c
+            using (values (cast(? as bigint), cast(? as varchar(255)), cast(? as varchar(255)),
+                           cast(? as varchar(255)))) s (isbn, title, author, auditor)
+            on c.isbn = s.isbn
+            when not matched then
+                insert (isbn, title, author, created_by, updated_by)
+                values (s.isbn, s.title, s.author, s.auditor, s.auditor)
+            """;
+
+    private final EntityManager em;
+
+    @Override
+    public Set<Long> insertAbsent(Collection<BookCatalog> catalogs, String auditor, int batchSize) {
+        Set<Long> inserted = new HashSet<>();
+        List<BookCatalog> rows = List.copyOf(catalogs);
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_ABSENT)) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    List<BookCatalog> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+                    ps.setString(1, auditor);
+                    ps.setString(2, auditor);
+                    ps.setArray(3, connection.createArrayOf("bigint", chunk.stream().map(BookCatalog::getIsbn).toArray()));
+                    ps.setArray(4, connection.createArrayOf("varchar", chunk.stream().map(BookCatalog::getTitle).toArray()));
+                    ps.setArray(5, connection.createArrayOf("varchar", chunk.stream().map(BookCatalog::getAuthor).toArray()));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) inserted.add(rs.getLong(1));
+                    }
+                }
+            }
+        });
+        return inserted;
+    }
+
+    @Override
+    public Set<Long> mergeAbsent(Collection<BookCatalog> catalogs, String auditor, int batchSize) {
+        Set<Long> inserted = new HashSet<>();
+        List<BookCatalog> rows = List.copyOf(catalogs);
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(MERGE_ABSENT)) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    List<BookCatalog> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+                    for (BookCatalog c : chunk) {
+                        ps.setLong(1, c.getIsbn());
+                        ps.setString(2, c.getTitle());
+                        ps.setString(3, c.getAuthor());
+                        ps.setString(4, auditor);
+                        ps.addBatch();
+                    }
+                    int[] counts = ps.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] > 0) inserted.add(chunk.get(i).getIsbn());
+                    }
+                }
+            }
+        });
+        return inserted;
+    }
+}
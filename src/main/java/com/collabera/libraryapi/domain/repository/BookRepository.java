@@ -2,6 +2,9 @@ package com.collabera.libraryapi.domain.repository;
 
 import com.collabera.libraryapi.domain.entity.Book;
 import com.collabera.libraryapi.domain.spec.Specs;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,16 +15,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.lang.Nullable;
 import org.springframework.lang.NonNull;
-import com.collabera.libraryapi.web.exception.BookNotFoundException;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.Optional;
 
-public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book> {
-
-    default Book getRequired(UUID id) {
-        return findById(id).orElseThrow(() -> new BookNotFoundException(id));
-    }
+public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book>, BookRepositoryCustom {
 
     static Specification<Book> bySearch(String search) {
         if (search == null || search.isBlank()) return Specs.truth();
@@ -29,13 +29,75 @@ public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificat
         return (root, q, cb) -> cb.or(
                 cb.like(cb.lower(root.get("catalog").get("title")),  like),
                 cb.like(cb.lower(root.get("catalog").get("author")), like),
-                cb.like(cb.lower(root.get("catalog").get("isbn")),   like)
+                cb.like(root.get("catalog").get("isbn").as(String.class), like)
         );
     }
 
+    static Specification<Book> byCatalogIsbnIn(Collection<String> isbns) {
+        List<Long> keys = isbns.stream().map(Long::valueOf).toList();
+        return (root, q, cb) -> root.get("catalog").get("isbn").in(keys);
+    }
+
+    /**
+     * Restricts to {@code rankedIsbns} and orders rows by their position in that list (then title, id).
+     * The ordering only applies when the query is run unsorted.
+     */
+    static Specification<Book> rankedByIsbn(List<String> rankedIsbns) {
+        List<Long> keys = rankedIsbns.stream().map(Long::valueOf).toList();
+        return (root, q, cb) -> {
+            Path<Long> isbn = root.get("catalog").get("isbn");
+            if (q.getResultType() != Long.class) {
+                CriteriaBuilder.SimpleCase<Long, Integer> rank = cb.selectCase(isbn);
+                for (int i = 0; i < keys.size(); i++) rank.when(keys.get(i), i);
+                rank.otherwise(keys.size());
+                q.orderBy(cb.asc(rank), cb.asc(root.get("catalog").get("title")), cb.asc(root.get("id")));
+            }
+            return isbn.in(keys);
+        };
+    }
+
+    /**
+     * Keyset predicate for the {@code catalog.title, id} ordering: rows strictly after the given key.
+     * Criteria has no row-value comparison, so the redundant {@code title >= :title} conjunct is what
+     * lets {@code idx_book_catalog_title} start its range at the key instead of filtering from the
+     * first title. The page is then read in title order from that index, joined to each catalog's
+     * copies through {@code idx_books_catalog}; only the copies sharing a title are sorted by id
+     * (PostgreSQL: an incremental sort), so a deep page costs about the same as the first.
+     */
+    static Specification<Book> afterTitleAndId(String title, UUID id) {
+        return (root, q, cb) -> {
+            Path<String> t = root.get("catalog").get("title");
+            return cb.and(cb.greaterThanOrEqualTo(t, title),
+                    cb.or(cb.greaterThan(t, title),
+                            cb.and(cb.equal(t, title), cb.greaterThan(root.<UUID>get("id"), id))));
+        };
+    }
+
+    /** Flips only an available copy, and only when {@code borrowerId} exists. */
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("update Book b set b.borrowed = true where b.id = :id and b.borrowed = false")
-    int markBorrowedIfAvailable(UUID id);
+    @Query("update Book b set b.borrowed = true where b.id = :id and b.borrowed = false and exists (select 1 from Borrower r where r.id = :borrowerId)")
+    int markBorrowedIfAvailable(UUID id, UUID borrowerId);
+
+    /**
+     * Locks the copies for update in ascending id order, the order every multi-book checkout takes,
+     * so two overlapping checkouts queue rather than deadlock. Catalogs are not locked here.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id in :ids order by b.id")
+    List<Book> lockAllById(Collection<UUID> ids);
+
+    /** Flips copies already locked by {@link #lockAllById} and checked to be available. */
+    @Modifying(flushAutomatically = true)
+    @Query("update Book b set b.borrowed = true where b.id in :ids")
+    int markBorrowed(Collection<UUID> ids);
+
+    /** Locks one available copy of the catalog, for handing to a waiting hold. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Book> findFirstByCatalogIsbnAndBorrowedFalse(Long isbn);
+
+    /** The given copies with their catalogs, in one select; in no particular order. */
+    @Query("select b from Book b join fetch b.catalog where b.id in :ids")
+    List<Book> findWithCatalogByIdIn(Collection<UUID> ids);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("update Book b set b.borrowed = false where b.id = :id and b.borrowed = true")
@@ -46,9 +108,6 @@ public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificat
     @NonNull
     Page<Book> findAll(@Nullable Specification<Book> spec, @NonNull Pageable pageable);
 
-    @EntityGraph(attributePaths = "catalog")
-    Optional<Book> findWithCatalogById(UUID id);
-
     @UtilityClass
     final class BookSpecs {
         public static Specification<Book> titleLike(String s) {
@@ -64,7 +123,7 @@ public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificat
         public static Specification<Book> isbnLike(String s) {
             if (s == null || s.isBlank()) return null;
             String like = "%" + s.toLowerCase() + "%";
-            return (r,q,cb) -> cb.like(cb.lower(r.get("catalog").get("isbn")), like);
+            return (r,q,cb) -> cb.like(r.get("catalog").get("isbn").as(String.class), like);
         }
     }
 }
@@ -0,0 +1,33 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.entity.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface BookRepositoryCustom {
+    /**
+     * Offset page without the count query: fetches one extra row to decide {@code hasNext}. Selects
+     * the five {@link BookResponse} columns straight into the record: no managed entities, no
+     * dirty-checking snapshots, no mapping step.
+     */
+    Slice<BookResponse> findResponseSlice(Specification<Book> spec, Pageable pageable);
+
+    /**
+     * Every copy as a {@link BookResponse}, in one unordered pass over {@code books} joined to
+     * {@code book_catalog} on a forward-only cursor. Must be consumed and closed inside a transaction
+     * (PostgreSQL only honours {@code fetchSize} with auto-commit off).
+     */
+    Stream<BookResponse> streamResponses(int fetchSize);
+
+    /**
+     * Persists {@code copies} of existing catalogs and adds them to their catalogs' counters.
+     * Statements go out in JDBC batches of {@code batchSize} (this session only), with a single
+     * flush, so the cost no longer grows with one round trip per row.
+     */
+    void insertAll(Collection<Book> copies, int batchSize);
+}
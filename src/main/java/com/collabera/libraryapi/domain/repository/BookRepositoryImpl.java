@@ -0,0 +1,112 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.entity.Book;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class BookRepositoryImpl implements BookRepositoryCustom {
+    private static final String FETCH_SIZE = "org.hibernate.fetchSize";
+    private static final String READ_ONLY = "org.hibernate.readOnly";
+
+    private final EntityManager em;
+
+    @Override
+    public Slice<BookResponse> findResponseSlice(Specification<Book> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<BookResponse> query = cb.createQuery(BookResponse.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(response(root, cb));
+        restrict(query, root, cb, spec, pageable);
+        return slice(em.createQuery(query), pageable);
+    }
+
+    @Override
+    public Stream<BookResponse> streamResponses(int fetchSize) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<BookResponse> query = cb.createQuery(BookResponse.class);
+        query.select(response(query.from(Book.class), cb));
+        return em.createQuery(query)
+                .setHint(FETCH_SIZE, fetchSize)
+                .setHint(READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /** Counter update of {@code BookCatalogRepository.upsertCopy}, for several copies of an existing catalog at once. */
+    private static final String ADD_COPIES =
+            "update book_catalog set total_copies = total_copies + ?, available_copies = available_copies + ? where isbn = ?";
+
+    @Override
+    public void insertAll(Collection<Book> copies, int batchSize) {
+        Session session = em.unwrap(Session.class);
+        Integer previous = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            copies.forEach(em::persist);
+            em.flush();
+        } finally {
+            session.setJdbcBatchSize(previous);
+        }
+        Map<Long, Integer> added = new LinkedHashMap<>();
+        copies.forEach(b -> added.merge(b.getCatalog().getIsbn(), 1, Integer::sum));
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(ADD_COPIES)) {
+                int pending = 0;
+                for (Map.Entry<Long, Integer> e : added.entrySet()) {
+                    ps.setInt(1, e.getValue());
+                    ps.setInt(2, e.getValue());
+                    ps.setLong(3, e.getKey());
+                    ps.addBatch();
+                    if (++pending % batchSize == 0) ps.executeBatch();
+                }
+                if (pending % batchSize != 0) ps.executeBatch();
+            }
+        });
+    }
+
+    private static CompoundSelection<BookResponse> response(Root<Book> root, CriteriaBuilder cb) {
+        Path<BookCatalog> catalog = root.get("catalog");
+        return cb.construct(BookResponse.class, root.get("id"), catalog.get("isbn"),
+                catalog.get("title"), catalog.get("author"), root.get("borrowed"));
+    }
+
+    private static void restrict(CriteriaQuery<?> query, Root<Book> root, CriteriaBuilder cb,
+                                 Specification<Book> spec, Pageable pageable) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        // Leave any ordering the specification applied when the page itself is unsorted
+        if (pageable.getSort().isSorted()) query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+    }
+
+    private static <T> Slice<T> slice(TypedQuery<T> query, Pageable pageable) {
+        int size = pageable.getPageSize();
+        List<T> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+}
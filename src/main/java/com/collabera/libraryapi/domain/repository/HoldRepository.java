@@ -0,0 +1,43 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.entity.Hold;
+import com.collabera.libraryapi.domain.entity.Hold.Status;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface HoldRepository extends JpaRepository<Hold, UUID> {
+
+    /** Locks the head of the catalog's queue: its oldest hold in {@code status}, read off {@code idx_holds_queue}. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Hold> findFirstByCatalogIsbnAndStatusOrderByIdAsc(Long isbn, Status status);
+
+    boolean existsByBorrowerIdAndCatalogIsbnAndStatus(UUID borrowerId, Long isbn, Status status);
+
+    /** Holds ahead of {@code id} in its queue; an index range scan, not a walk of the queue. */
+    long countByCatalogIsbnAndStatusAndIdLessThan(Long isbn, Status status, UUID id);
+
+    @Query("select distinct h.catalog.isbn from Hold h where h.status = :status and h.catalog.isbn in :isbns")
+    List<Long> findIsbnsWithStatus(Collection<Long> isbns, Status status);
+
+    /** Marks a waiting hold as served by {@code loanId}; 0 when it was no longer waiting. */
+    @Modifying
+    @Query(value = """
+            update holds set status = 'FULFILLED', loan_id = :loanId, fulfilled_at = :at, updated_at = :at
+            where id = :id and status = 'WAITING'
+            """, nativeQuery = true)
+    int fulfil(UUID id, UUID loanId, Instant at);
+
+    /** Moves the hold from {@code from} to {@code to}; 0 when it was no longer in {@code from}. */
+    @Modifying(flushAutomatically = true)
+    @Query("update Hold h set h.status = :to where h.id = :id and h.status = :from")
+    int transition(UUID id, Status from, Status to);
+}
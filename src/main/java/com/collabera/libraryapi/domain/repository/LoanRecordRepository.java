@@ -0,0 +1,10 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.entity.LoanRecord;
+import org.springframework.data.repository.Repository;
+
+import java.util.UUID;
+
+/** Loan history across live and archived loans; read-only. */
+public interface LoanRecordRepository extends Repository<LoanRecord, UUID>, LoanRecordRepositoryCustom {
+}
@@ -0,0 +1,20 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.dto.loan.LoanStatus;
+import com.collabera.libraryapi.domain.entity.LoanRecord;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface LoanRecordRepositoryCustom {
+    /**
+     * Up to {@code limit} loans of {@code borrowerId}, live or archived, newest first
+     * ({@code borrowedAt}, then {@code id}, both descending), optionally only {@code status} ones and
+     * only those after the {@code (beforeAt, beforeId)} key of a previous page; books and borrowers
+     * are left unloaded. On PostgreSQL a merge of scans of {@code idx_loans_borrower_history} and of
+     * every archive partition's {@code idx_loans_archive_borrower_history}, each starting right at
+     * that key, so a page reads about {@code limit} index entries and rows.
+     */
+    List<LoanRecord> findHistory(UUID borrowerId, LoanStatus status, Instant beforeAt, UUID beforeId, int limit);
+}
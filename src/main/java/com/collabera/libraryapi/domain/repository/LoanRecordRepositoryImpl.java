@@ -0,0 +1,32 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.dto.loan.LoanStatus;
+import com.collabera.libraryapi.domain.entity.LoanRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class LoanRecordRepositoryImpl implements LoanRecordRepositoryCustom {
+    private final EntityManager em;
+
+    @Override
+    public List<LoanRecord> findHistory(UUID borrowerId, LoanStatus status, Instant beforeAt, UUID beforeId, int limit) {
+        StringBuilder hql = new StringBuilder("select l from LoanRecord l where l.borrower.id = :borrowerId");
+        if (status == LoanStatus.ACTIVE) hql.append(" and l.returnedAt is null");
+        if (status == LoanStatus.RETURNED) hql.append(" and l.returnedAt is not null");
+        // A row-value comparison bounds the index range exactly, however many loans share a timestamp
+        if (beforeAt != null) hql.append(" and (l.borrowedAt, l.id) < (:beforeAt, :beforeId)");
+        hql.append(" order by l.borrowedAt desc, l.id desc");
+
+        TypedQuery<LoanRecord> query = em.createQuery(hql.toString(), LoanRecord.class)
+                .setParameter("borrowerId", borrowerId)
+                .setMaxResults(limit);
+        if (beforeAt != null) query.setParameter("beforeAt", beforeAt).setParameter("beforeId", beforeId);
+        return query.getResultList();
+    }
+}
@@ -3,12 +3,234 @@ package com.collabera.libraryapi.domain.repository;
 import com.collabera.libraryapi.domain.entity.Loan;
 import org.springframework.data.jpa.repository.*;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.LOAD;
+public interface LoanRepository extends JpaRepository<Loan, UUID>, LoanRepositoryCustom {
+    /**
+     * PostgreSQL: borrows {@code bookId} for {@code borrowerId} in one statement. The guarded flip of
+     * {@code books.borrowed}, the catalog's available counter and the loan insert are data-modifying
+     * CTEs chained on each other's {@code RETURNING}, so nothing is written unless the borrower exists
+     * and the copy was available. A concurrent borrow of the same copy waits on the row lock and then
+     * finds it borrowed. The single result row says which precondition failed, if any.
+     */
+    @Query(value = """
+            with borrower as (
+                select id, name, email from borrowers where id = :borrowerId
+            ), flipped as (
+                update books b set borrowed = true
+                where b.id = :bookId and b.borrowed = false and exists (select 1 from borrower)
+                returning b.id, b.catalog_isbn
+            ), counted as (
+                update book_catalog c set available_copies = c.available_copies - 1
+                from flipped f where c.isbn = f.catalog_isbn
+                returning c.isbn, c.title, c.author
+            ), loan as (
+                insert into loans (id, book_id, borrower_id, borrowed_at, due_at, created_at, updated_at, created_by, updated_by)
+                select :loanId, f.id, :borrowerId, :at, :dueAt, :at, :at, :auditor, :auditor from flipped f
+                returning id
+            )
+            select r.id is not null as borrowerFound,
+                   exists (select 1 from books where id = :bookId) as bookFound,
+                   l.id is not null as borrowed, c.isbn as isbn, c.title as title, c.author as author,
+                   r.name as borrowerName, r.email as borrowerEmail
+            from (values (1)) one (x)
+            left join borrower r on true
+            left join loan l on true
+            left join counted c on true
+            """, nativeQuery = true)
+    Checkout checkout(UUID loanId, UUID bookId, UUID borrowerId, Instant at, Instant dueAt, String auditor);
 
-public interface LoanRepository extends JpaRepository<Loan, UUID> {
-    @EntityGraph(type = LOAD, attributePaths = {"book", "book.catalog", "borrower"})
-    Optional<Loan> findByBookIdAndReturnedAtIsNull(UUID bookId);
+    /** H2 step of {@link #checkout}: records the loan of a copy already flipped in this transaction. */
+    @Modifying
+    @Query(value = """
+            insert into loans (id, book_id, borrower_id, borrowed_at, due_at, created_at, updated_at, created_by, updated_by)
+            values (:loanId, :bookId, :borrowerId, :at, :dueAt, :at, :at, :auditor, :auditor)
+            """, nativeQuery = true)
+    int insertLoan(UUID loanId, UUID bookId, UUID borrowerId, Instant at, Instant dueAt, String auditor);
+
+    /** H2 step of {@link #checkout}: the same result row, read after the writes. */
+    @Query(value = """
+            select r.id is not null as borrowerFound, b.id is not null as bookFound,
+                   l.id is not null as borrowed, c.isbn as isbn, c.title as title, c.author as author,
+                   r.name as borrowerName, r.email as borrowerEmail
+            from (values (1)) one (x)
+            left join borrowers r on r.id = :borrowerId
+            left join books b on b.id = :bookId
+            left join loans l on l.id = :loanId
+            left join book_catalog c on l.id is not null and c.isbn = b.catalog_isbn
+            """, nativeQuery = true)
+    Checkout findCheckout(UUID loanId, UUID bookId, UUID borrowerId);
+
+    /**
+     * PostgreSQL: returns {@code bookId} for {@code borrowerId} in one statement, the mirror of
+     * {@link #checkout}: closing the open loan (found through {@code uq_loans_book_active}) gates the
+     * flip of {@code books.borrowed} back and the available counter. The result row tells a missing
+     * borrower or book, a copy lent to someone else and a copy that is not out apart.
+     */
+    @Query(value = """
+            with returned as (
+                update loans l set returned_at = :at, updated_at = :at, updated_by = :auditor
+                where l.book_id = :bookId and l.returned_at is null and l.borrower_id = :borrowerId
+                returning l.id, l.borrowed_at, l.due_at, l.overdue_at
+            ), flipped as (
+                update books b set borrowed = false
+                where b.id = :bookId and b.borrowed = true and exists (select 1 from returned)
+                returning b.catalog_isbn
+            ), counted as (
+                update book_catalog c set available_copies = c.available_copies + 1
+                from flipped f where c.isbn = f.catalog_isbn
+            )
+            select exists (select 1 from borrowers where id = :borrowerId) as borrowerFound,
+                   exists (select 1 from books where id = :bookId) as bookFound,
+                   exists (select 1 from loans where book_id = :bookId and returned_at is null
+                           and borrower_id <> :borrowerId) as lentToOther,
+                   cast(r.id as varchar) as loanId, r.borrowed_at as borrowedAt,
+                   r.due_at as dueAt, r.overdue_at as overdueAt,
+                   c.isbn as isbn, c.title as title, c.author as author,
+                   br.name as borrowerName, br.email as borrowerEmail
+            from (values (1)) one (x)
+            left join returned r on true
+            left join books b on r.id is not null and b.id = :bookId
+            left join book_catalog c on c.isbn = b.catalog_isbn
+            left join borrowers br on r.id is not null and br.id = :borrowerId
+            """, nativeQuery = true)
+    Checkin checkin(UUID bookId, UUID borrowerId, Instant at, String auditor);
+
+    /** H2 step of {@link #checkin}: closes the open loan, read back through {@code FINAL TABLE}. */
+    @Query(value = """
+            select cast(l.id as varchar) from final table (
+                update loans set returned_at = :at, updated_at = :at, updated_by = :auditor
+                where book_id = :bookId and returned_at is null and borrower_id = :borrowerId
+            ) l
+            """, nativeQuery = true)
+    Optional<String> closeActiveLoan(UUID bookId, UUID borrowerId, Instant at, String auditor);
+
+    /** H2 step of {@link #checkin}: the same result row, read after the writes. */
+    @Query(value = """
+            select exists (select 1 from borrowers where id = :borrowerId) as borrowerFound,
+                   exists (select 1 from books where id = :bookId) as bookFound,
+                   exists (select 1 from loans where book_id = :bookId and returned_at is null
+                           and borrower_id <> :borrowerId) as lentToOther,
+                   cast(l.id as varchar) as loanId, l.borrowed_at as borrowedAt,
+                   l.due_at as dueAt, l.overdue_at as overdueAt,
+                   c.isbn as isbn, c.title as title, c.author as author,
+                   br.name as borrowerName, br.email as borrowerEmail
+            from (values (1)) one (x)
+            left join loans l on l.id = :loanId
+            left join books b on l.id is not null and b.id = l.book_id
+            left join book_catalog c on c.isbn = b.catalog_isbn
+            left join borrowers br on l.id is not null and br.id = l.borrower_id
+            """, nativeQuery = true)
+    Checkin findCheckin(UUID loanId, UUID bookId, UUID borrowerId);
+
+    /**
+     * Flags those of {@code ids} that are still out and not yet flagged as overdue since {@code at};
+     * returns how many were flagged. Returned loans are skipped, so a scan never races a return.
+     */
+    @Modifying
+    @Query("""
+            update Loan l set l.overdueAt = :at, l.updatedAt = :at, l.updatedBy = :auditor
+            where l.id in :ids and l.returnedAt is null and l.overdueAt is null
+            """)
+    int markOverdue(Collection<UUID> ids, Instant at, String auditor);
+
+    /** Earliest due date among loans still out and not yet flagged as overdue; the head of {@code idx_loans_due_pending}. */
+    @Query("select min(l.dueAt) from Loan l where l.returnedAt is null and l.overdueAt is null")
+    Optional<Instant> findEarliestPendingDue();
+
+    /** Copies whose loans were closed at or after {@code since}, in {@code idx_loans_returned} order. */
+    @Query("select l.book.id from Loan l where l.returnedAt >= :since order by l.returnedAt")
+    List<UUID> findReturnedBookIdsSince(Instant since);
+
+    /**
+     * PostgreSQL: moves those of {@code ids} returned before {@code returnedBefore} to
+     * {@code loans_archive} in one statement, a delete feeding the insert through {@code RETURNING};
+     * returns how many moved. The partitions for their months must exist. Only returned loans are
+     * touched, and nothing writes to those, so the move never waits on a borrow or return, nor they on it.
+     */
+    @Modifying
+    @Query(value = """
+            with moved as (
+                delete from loans
+                where id in :ids and returned_at < :returnedBefore
+                returning id, book_id, borrower_id, borrowed_at, returned_at, due_at, overdue_at,
+                          created_at, updated_at, created_by, updated_by
+            )
+            insert into loans_archive (id, book_id, borrower_id, borrowed_at, returned_at, due_at, overdue_at,
+                                       created_at, updated_at, created_by, updated_by)
+            select id, book_id, borrower_id, borrowed_at, returned_at, due_at, overdue_at,
+                   created_at, updated_at, created_by, updated_by
+            from moved
+            """, nativeQuery = true)
+    int archive(Collection<UUID> ids, Instant returnedBefore);
+
+    /** H2 step of {@link #archive}: copies the loans to {@code loans_archive}. */
+    @Modifying
+    @Query(value = """
+            insert into loans_archive (id, book_id, borrower_id, borrowed_at, returned_at, due_at, overdue_at,
+                                       created_at, updated_at, created_by, updated_by)
+            select id, book_id, borrower_id, borrowed_at, returned_at, due_at, overdue_at,
+                   created_at, updated_at, created_by, updated_by
+            from loans
+            where id in :ids and returned_at < :returnedBefore
+            """, nativeQuery = true)
+    int copyToArchive(Collection<UUID> ids, Instant returnedBefore);
+
+    /** H2 step of {@link #archive}: deletes the loans just copied, matched by the same condition. */
+    @Modifying
+    @Query(value = "delete from loans where id in :ids and returned_at < :returnedBefore", nativeQuery = true)
+    int deleteArchived(Collection<UUID> ids, Instant returnedBefore);
+
+    /** Outcome of a borrow: the loan and what the response shows of it, or which precondition failed. */
+    interface Checkout {
+        boolean getBorrowerFound();
+
+        boolean getBookFound();
+
+        /** Whether the loan was written; the fields below are null otherwise. */
+        boolean getBorrowed();
+
+        Long getIsbn();
+
+        String getTitle();
+
+        String getAuthor();
+
+        String getBorrowerName();
+
+        String getBorrowerEmail();
+    }
+
+    /** Outcome of a return: the closed loan, or which precondition failed. */
+    interface Checkin {
+        boolean getBorrowerFound();
+
+        boolean getBookFound();
+
+        /** The copy is out, but to another borrower. */
+        boolean getLentToOther();
+
+        /** Null unless a loan was closed; the fields below are then null too. */
+        String getLoanId();
+
+        Instant getBorrowedAt();
+
+        Instant getDueAt();
+
+        Instant getOverdueAt();
+
+        Long getIsbn();
+
+        String getTitle();
+
+        String getAuthor();
+
+        String getBorrowerName();
+
+        String getBorrowerEmail();
+    }
 }
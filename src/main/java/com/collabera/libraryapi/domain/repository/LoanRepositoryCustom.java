@@ -0,0 +1,41 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.entity.Loan;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface LoanRepositoryCustom {
+    /**
+     * Persists new {@code loans} with one flush, in JDBC batches of {@code batchSize} (this session
+     * only), instead of one round trip per row.
+     */
+    void insertAll(Collection<Loan> loans, int batchSize);
+
+    /**
+     * Up to {@code limit} loans that are out, not yet flagged as overdue and due before {@code now},
+     * in {@code (dueAt, id)} order after the {@code (afterDue, afterId)} key of the previous chunk
+     * (from the start when null). Walks {@code idx_loans_due_pending}.
+     */
+    List<DueLoan> findOverdue(Instant now, Instant afterDue, UUID afterId, int limit);
+
+    /**
+     * Up to {@code limit} loans returned before {@code returnedBefore}, in {@code (returnedAt, id)}
+     * order after the {@code (afterReturned, afterId)} key of the previous batch (from the start when
+     * null). Walks {@code idx_loans_returned}.
+     */
+    List<ReturnedLoan> findArchivable(Instant returnedBefore, Instant afterReturned, UUID afterId, int limit);
+
+    /**
+     * PostgreSQL: creates the {@code loans_archive} partition for loans borrowed in {@code month}
+     * (UTC) unless it exists.
+     */
+    void createArchivePartition(YearMonth month);
+
+    record DueLoan(UUID id, Instant dueAt) {}
+
+    record ReturnedLoan(UUID id, Instant borrowedAt, Instant returnedAt) {}
+}
@@ -0,0 +1,68 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.entity.Loan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class LoanRepositoryImpl implements LoanRepositoryCustom {
+    private final EntityManager em;
+
+    @Override
+    public void insertAll(Collection<Loan> loans, int batchSize) {
+        Session session = em.unwrap(Session.class);
+        Integer previous = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            loans.forEach(em::persist);
+            em.flush();
+        } finally {
+            session.setJdbcBatchSize(previous);
+        }
+    }
+
+    @Override
+    public List<DueLoan> findOverdue(Instant now, Instant afterDue, UUID afterId, int limit) {
+        String hql = "select l.id, l.dueAt from Loan l where l.returnedAt is null and l.overdueAt is null and l.dueAt < :now"
+                + (afterDue != null ? " and (l.dueAt, l.id) > (:afterDue, :afterId)" : "")
+                + " order by l.dueAt, l.id";
+        TypedQuery<Tuple> query = em.createQuery(hql, Tuple.class)
+                .setParameter("now", now)
+                .setMaxResults(limit);
+        if (afterDue != null) query.setParameter("afterDue", afterDue).setParameter("afterId", afterId);
+        return query.getResultList().stream()
+                .map(t -> new DueLoan(t.get(0, UUID.class), t.get(1, Instant.class)))
+                .toList();
+    }
+
+    @Override
+    public List<ReturnedLoan> findArchivable(Instant returnedBefore, Instant afterReturned, UUID afterId, int limit) {
+        String hql = "select l.id, l.borrowedAt, l.returnedAt from Loan l where l.returnedAt < :returnedBefore"
+                + (afterReturned != null ? " and (l.returnedAt, l.id) > (:afterReturned, :afterId)" : "")
+                + " order by l.returnedAt, l.id";
+        TypedQuery<Tuple> query = em.createQuery(hql, Tuple.class)
+                .setParameter("returnedBefore", returnedBefore)
+                .setMaxResults(limit);
+        if (afterReturned != null) query.setParameter("afterReturned", afterReturned).setParameter("afterId", afterId);
+        return query.getResultList().stream()
+                .map(t -> new ReturnedLoan(t.get(0, UUID.class), t.get(1, Instant.class), t.get(2, Instant.class)))
+                .toList();
+    }
+
+    @Override
+    public void createArchivePartition(YearMonth month) {
+        // DDL takes no parameters; the name and bounds come from the YearMonth alone
+        em.createNativeQuery("create table if not exists loans_archive_%d_%02d partition of loans_archive for values from ('%s') to ('%s')"
+                        .formatted(month.getYear(), month.getMonthValue(), month.atDay(1), month.plusMonths(1).atDay(1)))
+                .executeUpdate();
+    }
+}
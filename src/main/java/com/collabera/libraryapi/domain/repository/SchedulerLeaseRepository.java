@@ -0,0 +1,23 @@
+package com.collabera.libraryapi.domain.repository;
+
+import com.collabera.libraryapi.domain.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+    /**
+     * Takes lease {@code name} for {@code owner} until {@code until} if it has expired or is already
+     * {@code owner}'s (which renews it). Concurrent callers serialize on the row; 1 means acquired.
+     */
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :owner, l.expiresAt = :until where l.name = :name and (l.expiresAt < :now or l.owner = :owner)")
+    int acquire(String name, String owner, Instant now, Instant until);
+
+    /** Ends {@code owner}'s lease now, so another instance need not wait for it to expire. */
+    @Modifying
+    @Query("update SchedulerLease l set l.expiresAt = :now where l.name = :name and l.owner = :owner")
+    int release(String name, String owner, Instant now);
+}
@@ -0,0 +1,109 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-process pre-check for borrows: the copies whose borrow committed on this instance, or that the
+ * database reported taken, and that have not been returned since. A borrow of such a copy would
+ * only find the {@code UPDATE} matching no row, so it is rejected before any database work. Every
+ * other copy goes to the database, including one another request on this instance is borrowing
+ * right now: that request may still fail, and until it commits nobody knows the copy is gone.
+ * <p>
+ * The database stays the source of truth, and a copy is only ever remembered after a committed
+ * borrow. It is forgotten when a return through this instance commits, or at the next
+ * {@link #reconcile} after a return through another instance. {@code library.availability.reconcile-interval}
+ * therefore bounds how long a copy returned elsewhere is still refused here. Borrows made on other
+ * instances are not learned; those copies are left to the database.
+ */
+@Slf4j
+@Component
+public class BookAvailability {
+    private final LoanRepository loans;
+    private final Duration returnLag;
+    private final Counter rejected;
+    private final Set<UUID> borrowed = ConcurrentHashMap.newKeySet();
+    /** Start of the window the next {@link #reconcile} reads returns from. */
+    private volatile Instant returnedSince = Instant.now();
+
+    public BookAvailability(LoanRepository loans, MeterRegistry registry,
+                            @Value("${library.availability.return-lag:PT30S}") Duration returnLag) {
+        this.loans = loans;
+        this.returnLag = returnLag;
+        this.rejected = Counter.builder("library.loans.precheck.rejected")
+                .description("Borrows rejected in memory because the copy was known to be borrowed")
+                .register(registry);
+    }
+
+    /** True when the copy is known to be out, in which case the borrow is counted as rejected. */
+    public boolean isBorrowed(UUID bookId) {
+        if (!borrowed.contains(bookId)) return false;
+        rejected.increment();
+        return true;
+    }
+
+    /**
+     * The current transaction borrows the copy; it is remembered once the transaction commits. Call
+     * only after the request has passed every check, so a request that fails never blocks others.
+     */
+    public void borrowing(UUID bookId) {
+        afterCompletion(committed -> {
+            if (committed) borrowed.add(bookId);
+        });
+    }
+
+    /** The database found the copy already borrowed; keep rejecting it after the rollback. */
+    public void taken(UUID bookId) {
+        borrowed.add(bookId);
+    }
+
+    /** The copy is returned once the current transaction commits. */
+    public void released(UUID bookId) {
+        afterCompletion(committed -> {
+            if (committed) borrowed.remove(bookId);
+        });
+    }
+
+    /**
+     * Forgets the copies returned through any instance since the previous run, read from
+     * {@code idx_loans_returned}. Each run reaches back {@code library.availability.return-lag}
+     * further, for returns that committed a little after their {@code returned_at}. A copy borrowed
+     * again in the meantime is forgotten too and simply goes to the database next time.
+     */
+    @Scheduled(initialDelayString = "${library.availability.reconcile-interval:PT5S}",
+            fixedDelayString = "${library.availability.reconcile-interval:PT5S}")
+    public void reconcile() {
+        Instant start = Instant.now();
+        List<UUID> returned = loans.findReturnedBookIdsSince(returnedSince.minus(returnLag));
+        returned.forEach(borrowed::remove);
+        returnedSince = start;
+        log.debug("Availability reconciled: {} returns in {} ms", returned.size(),
+                Duration.between(start, Instant.now()).toMillis());
+    }
+
+    private static void afterCompletion(Consumer<Boolean> settle) {
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(), "Availability changes need a transaction");
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                settle.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkin;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkout;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Borrows and returns copies without loading any entity. A borrow flips the copy's {@code borrowed}
+ * flag if it is available and the borrower exists, takes it off the catalog's available counter and
+ * inserts loan {@code loanId}, due at {@code dueAt}; a return closes the borrower's open loan of the copy and undoes both.
+ * When nothing could be written, the result says which precondition failed. Backends differ in how
+ * many statements that takes.
+ */
+public interface BookCheckout {
+
+    Checkout borrow(UUID loanId, UUID bookId, UUID borrowerId, Instant at, Instant dueAt);
+
+    Checkin returnBook(UUID bookId, UUID borrowerId, Instant at);
+}
@@ -0,0 +1,106 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Full inventory dump. Rows are written as the cursor yields them inside one read-only
+ * transaction, so memory stays at one fetch batch plus the output buffer whatever the row count.
+ */
+@Service
+public class BookExportService {
+    private static final int BUFFER = 64 * 1024;
+
+    private final BookRepository books;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+    private final int fetchSize;
+
+    public BookExportService(BookRepository books, ObjectMapper objectMapper, PlatformTransactionManager txManager,
+                             @Value("${library.export.fetch-size:500}") int fetchSize) {
+        this.books = books;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(txManager);
+        this.readOnly.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+    }
+
+    public void export(Format format, OutputStream out) {
+        readOnly.executeWithoutResult(tx -> {
+            try (Stream<BookResponse> rows = books.streamResponses(fetchSize)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER);
+                if (format == Format.CSV) writeCsv(rows.iterator(), writer);
+                else writeNdjson(rows.iterator(), writer);
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Iterator<BookResponse> rows, Writer writer) throws IOException {
+        SequenceWriter json = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        boolean any = rows.hasNext();
+        while (rows.hasNext()) json.write(rows.next());
+        json.flush();
+        // The separator only goes between rows; terminate the last line too
+        if (any) writer.write('\n');
+    }
+
+    private static void writeCsv(Iterator<BookResponse> rows, Writer writer) throws IOException {
+        writer.write("id,isbn,title,author,borrowed\n");
+        while (rows.hasNext()) {
+            BookResponse b = rows.next();
+            writer.write(b.id().toString());
+            writer.write(',');
+            writer.write(csv(b.isbn()));
+            writer.write(',');
+            writer.write(csv(b.title()));
+            writer.write(',');
+            writer.write(csv(b.author()));
+            writer.write(',');
+            writer.write(Boolean.toString(b.borrowed()));
+            writer.write('\n');
+        }
+    }
+
+    /** RFC 4180: quote fields containing separators, quotes or line breaks; double embedded quotes. */
+    static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,127 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.util.Isbn;
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.book.BulkBookCreateResponse;
+import com.collabera.libraryapi.domain.dto.book.BulkItemResult;
+import com.collabera.libraryapi.domain.entity.Book;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.event.BooksAddedEvent;
+import com.collabera.libraryapi.domain.event.CatalogCreatedEvent;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import com.collabera.libraryapi.web.exception.IsbnMetadataMismatchException;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.collabera.libraryapi.core.constants.ErrorCodes.ISBN_METADATA_MISMATCH;
+import static com.collabera.libraryapi.core.constants.ErrorCodes.VALIDATION_ERROR;
+
+/**
+ * Registers many copies in one transaction: one {@code IN} lookup for all catalogs, then catalog and
+ * copy inserts and counter updates sent as JDBC batches. Missing catalogs are created through
+ * {@link CatalogUpsert#createAbsent} and read back, so one that another request creates in the
+ * meantime is checked like any existing catalog instead of failing the batch on
+ * {@code pk_book_catalog}. Items failing validation or ISBN metadata checks are reported per item and
+ * do not stop the rest.
+ */
+@Service
+public class BookIngestService {
+    private final BookRepository books;
+    private final BookCatalogRepository catalogs;
+    private final CatalogUpsert upsert;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+
+    public BookIngestService(BookRepository books, BookCatalogRepository catalogs, CatalogUpsert upsert,
+                             Validator validator, ApplicationEventPublisher events,
+                             @Value("${library.ingest.batch-size:100}") int batchSize) {
+        this.books = books;
+        this.catalogs = catalogs;
+        this.upsert = upsert;
+        this.validator = validator;
+        this.events = events;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public BulkBookCreateResponse ingest(List<BookCreateRequest> items) {
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        Isbn[] isbns = new Isbn[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            BookCreateRequest item = items.get(i);
+            String invalid = violations(item);
+            if (invalid != null) {
+                results[i] = BulkItemResult.rejected(i, item == null ? null : item.isbn(), VALIDATION_ERROR, invalid);
+            } else {
+                isbns[i] = Isbn.parse(item.isbn());
+            }
+        }
+
+        Map<Long, BookCatalog> known = new HashMap<>();
+        Set<Long> wanted = Arrays.stream(isbns).filter(Objects::nonNull).map(Isbn::ean).collect(Collectors.toSet());
+        if (!wanted.isEmpty()) catalogs.findAllById(wanted).forEach(c -> known.put(c.getIsbn(), c));
+
+        // The first item naming a new ISBN defines its catalog; later ones are checked against the stored row.
+        // Sorted, so concurrent requests waiting on each other's inserts take the keys in the same order.
+        Map<Long, BookCatalog> absent = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (isbns[i] == null || known.containsKey(isbns[i].ean())) continue;
+            BookCreateRequest item = items.get(i);
+            absent.putIfAbsent(isbns[i].ean(),
+                    BookCatalog.builder().isbn(isbns[i].ean()).title(item.title()).author(item.author()).build());
+        }
+        Set<Long> created = Set.of();
+        if (!absent.isEmpty()) {
+            created = upsert.createAbsent(absent.values(), batchSize);
+            catalogs.findAllById(absent.keySet()).forEach(c -> known.put(c.getIsbn(), c));
+        }
+
+        List<Book> copies = new ArrayList<>();
+        int[] copyIndex = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            if (isbns[i] == null) continue;
+            BookCreateRequest item = items.get(i);
+            BookCatalog catalog = known.get(isbns[i].ean());
+            if (!catalog.getTitle().equals(item.title()) || !catalog.getAuthor().equals(item.author())) {
+                results[i] = BulkItemResult.rejected(i, isbns[i].toString(), ISBN_METADATA_MISMATCH,
+                        new IsbnMetadataMismatchException(isbns[i].toString()).getMessage());
+                continue;
+            }
+            copyIndex[copies.size()] = i;
+            copies.add(Book.builder().catalog(catalog).build());
+        }
+        if (copies.isEmpty()) return BulkBookCreateResponse.of(List.of(results));
+
+        books.insertAll(copies, batchSize);
+
+        absent.keySet().stream().filter(created::contains).map(known::get)
+                .forEach(c -> events.publishEvent(new CatalogCreatedEvent(c.getIsbn().toString(), c.getTitle(), c.getAuthor())));
+        events.publishEvent(new BooksAddedEvent(copies.stream().map(Book::getCatalog).distinct()
+                .map(c -> new BooksAddedEvent.Catalog(c.getIsbn().toString(), c.getTitle(), c.getAuthor())).toList()));
+        for (int j = 0; j < copies.size(); j++) {
+            Book book = copies.get(j);
+            results[copyIndex[j]] = BulkItemResult.created(copyIndex[j], book.getCatalog().getIsbn().toString(), book.getId());
+        }
+        return BulkBookCreateResponse.of(List.of(results));
+    }
+
+    /** Same messages as the single-item endpoint ({@code field: message}), or null when valid. */
+    public String violations(BookCreateRequest item) {
+        if (item == null) return "item: must not be null";
+        Set<ConstraintViolation<BookCreateRequest>> violations = validator.validate(item);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -1,42 +1,167 @@
 package com.collabera.libraryapi.service;
 
+import com.collabera.libraryapi.core.util.CursorResponse;
+import com.collabera.libraryapi.core.util.Cursors;
+import com.collabera.libraryapi.core.util.Isbn;
 import com.collabera.libraryapi.domain.entity.Book;
-import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.event.BooksAddedEvent;
+import com.collabera.libraryapi.domain.event.CatalogCreatedEvent;
 import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
 import com.collabera.libraryapi.domain.repository.BookRepository;
 import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
 import com.collabera.libraryapi.domain.dto.book.BookResponse;
-import com.collabera.libraryapi.mapper.BookMapper;
+import com.collabera.libraryapi.domain.dto.book.BookSuggestion;
+import com.collabera.libraryapi.service.search.BookCountCache;
+import com.collabera.libraryapi.service.search.BookPageCache;
+import com.collabera.libraryapi.service.search.CatalogSearch;
+import com.collabera.libraryapi.service.search.SuggestionIndex;
+import com.collabera.libraryapi.web.exception.InvalidCursorException;
+import com.collabera.libraryapi.web.exception.IsbnMetadataMismatchException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class BookService {
+    /** Pseudo sort property selecting the search backend's ranking. */
+    public static final String RELEVANCE = "relevance";
+    private static final Sort TITLE_SORT = Sort.by("catalog.title");
+    private static final Sort KEYSET_SORT = Sort.by("catalog.title", "id");
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final BookRepository books;
     private final BookCatalogRepository catalogs;
-    private final BookMapper mapper;
+    private final CatalogUpsert catalogUpsert;
+    private final CatalogSearch catalogSearch;
+    private final BookCountCache counts;
+    private final BookPageCache pages;
+    private final SuggestionIndex suggestions;
+    private final ApplicationEventPublisher events;
 
+    /**
+     * Registers a copy. {@link CatalogUpsert} creates or matches the catalog and counts the copy in a
+     * single statement, so the only other write is the copy itself, and two creates racing on a new
+     * ISBN both succeed.
+     */
     @Transactional
     public BookResponse create(BookCreateRequest request) {
-        // Normalize ISBN by trimming and removing spaces/hyphens
-        String normalizedIsbn = request.isbn().replaceAll("[\\s-]", "").toUpperCase();
-        BookCatalog catalog = catalogs.findByIsbnIgnoreCase(normalizedIsbn)
-                .map(existing -> {
-                    if (!existing.getTitle().equals(request.title()) || !existing.getAuthor().equals(request.author())) {
-                        throw new com.collabera.libraryapi.web.exception.IsbnMetadataMismatchException(normalizedIsbn);
-                    }
-                    return existing;
-                })
-                .orElseGet(() -> catalogs.save(new BookCatalog(normalizedIsbn, request.title(), request.author())));
-        Book book = Book.builder().catalog(catalog).build();
-        return mapper.toResponse(books.save(book));
+        // Validated already; ISBN-10 is converted to the ISBN-13 catalog key
+        Isbn key = Isbn.parse(request.isbn());
+        String isbn = key.toString();
+        switch (catalogUpsert.addCopy(key.ean(), request.title(), request.author())) {
+            case MISMATCH -> throw new IsbnMetadataMismatchException(isbn);
+            case CREATED -> events.publishEvent(new CatalogCreatedEvent(isbn, request.title(), request.author()));
+            case ADDED -> { }
+        }
+        Book book = books.save(Book.builder().catalog(catalogs.getReferenceById(key.ean())).build());
+        events.publishEvent(BooksAddedEvent.of(isbn, request.title(), request.author()));
+        // Built from the request: reading them off a catalog reference would load the row after all
+        return new BookResponse(book.getId(), isbn, request.title(), request.author(), book.isBorrowed());
     }
 
+    /**
+     * Offset page with totals; the total comes from {@link BookCountCache} rather than a count per request.
+     * {@code sort=relevance} orders matches by the search backend's ranking. Whole pages are served
+     * from {@link BookPageCache} until a write touches them.
+     */
     public Page<BookResponse> list(String search, Pageable pageable) {
-        return books.findAll(BookRepository.bySearch(search), pageable).map(mapper::toResponse);
+        return pages.get(search, pageable, () -> loadPage(search, pageable));
+    }
+
+    private Page<BookResponse> loadPage(String search, Pageable pageable) {
+        var query = listQuery(search, pageable);
+        if (query.isEmpty()) return Page.empty(pageable);
+        List<BookResponse> content = books.findResponseSlice(query.get().spec(), query.get().pageable()).getContent();
+        var countSpec = query.get().countSpec();
+        return PageableExecutionUtils.getPage(content, pageable, () -> counts.get(search, () -> books.count(countSpec)));
+    }
+
+    /** Offset page without totals: no count query at all. Listing reads project straight into {@link BookResponse}. */
+    public Slice<BookResponse> slice(String search, Pageable pageable) {
+        return listQuery(search, pageable)
+                .map(q -> books.findResponseSlice(q.spec(), q.pageable()))
+                .orElseGet(() -> new SliceImpl<>(List.of(), pageable, false));
+    }
+
+    /**
+     * Keyset page ordered by {@code catalog.title, id}. Each page is a bounded range read after the
+     * previous page's last key, so the cost does not grow with depth and no count query runs.
+     */
+    public CursorResponse<BookResponse> scroll(String search, String after, int requestedSize) {
+        int size = Math.max(requestedSize, 1);
+        var spec = searchSpec(search);
+        if (spec.isEmpty()) return new CursorResponse<>(List.of(), size, null);
+        var filter = spec.get();
+        if (after != null && !after.isBlank()) {
+            String[] key = Cursors.decode(after, 2);
+            filter = filter.and(BookRepository.afterTitleAndId(key[0], parseId(key[1])));
+        }
+        Slice<BookResponse> page = books.findResponseSlice(filter, PageRequest.of(0, size, KEYSET_SORT));
+        String next = null;
+        if (page.hasNext()) {
+            BookResponse last = page.getContent().get(page.getNumberOfElements() - 1);
+            next = Cursors.encode(last.title(), last.id().toString());
+        }
+        return new CursorResponse<>(page.getContent(), size, next);
+    }
+
+    /** Type-ahead over distinct titles and authors, answered from memory. */
+    public List<BookSuggestion> suggest(String prefix, int limit) {
+        return suggestions.suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
+    /**
+     * Search predicate: candidate ISBNs from the search backend, or the LIKE scan when it can't narrow
+     * the term. Empty when the backend proves nothing matches, so callers can skip the database.
+     */
+    private Optional<Specification<Book>> searchSpec(String search) {
+        if (search == null || search.isBlank()) return Optional.of(BookRepository.bySearch(search));
+        Optional<List<String>> candidates = catalogSearch.search(search);
+        if (candidates.isPresent() && candidates.get().isEmpty()) return Optional.empty();
+        return Optional.of(candidates.map(BookRepository::byCatalogIsbnIn).orElseGet(() -> BookRepository.bySearch(search)));
+    }
+
+    private Optional<ListQuery> listQuery(String search, Pageable pageable) {
+        if (pageable.getSort().getOrderFor(RELEVANCE) == null) {
+            return searchSpec(search).map(spec -> new ListQuery(spec, pageable, spec));
+        }
+        // Relevance needs a term the backend can rank; otherwise use the remaining sort (or title)
+        Sort rest = Sort.by(pageable.getSort().filter(o -> !RELEVANCE.equals(o.getProperty())).toList());
+        Pageable fallback = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), rest.isSorted() ? rest : TITLE_SORT);
+        if (search == null || search.isBlank()) {
+            return searchSpec(search).map(spec -> new ListQuery(spec, fallback, spec));
+        }
+        // Every catalog has at least one copy, so the best offset+size catalogs cover the requested page
+        long topK = pageable.getOffset() + pageable.getPageSize();
+        Optional<List<String>> ranked = topK > Integer.MAX_VALUE ? Optional.empty() : catalogSearch.rank(search, (int) topK);
+        if (ranked.isEmpty()) return searchSpec(search).map(spec -> new ListQuery(spec, fallback, spec));
+        if (ranked.get().isEmpty()) return Optional.empty();
+        return Optional.of(new ListQuery(BookRepository.rankedByIsbn(ranked.get()),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), BookRepository.bySearch(search)));
+    }
+
+    /** {@code countSpec} selects the full match set when {@code spec} is narrowed to a top-k. */
+    private record ListQuery(Specification<Book> spec, Pageable pageable, Specification<Book> countSpec) {}
+
+    private static UUID parseId(String raw) {
+        try {
+            return UUID.fromString(raw);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
     }
 }
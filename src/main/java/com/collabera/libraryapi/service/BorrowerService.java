@@ -1,22 +1,77 @@
 package com.collabera.libraryapi.service;
 
+import com.collabera.libraryapi.core.util.CursorResponse;
+import com.collabera.libraryapi.core.util.Cursors;
+import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
+import com.collabera.libraryapi.domain.dto.loan.LoanStatus;
+import com.collabera.libraryapi.domain.entity.LoanRecord;
+import com.collabera.libraryapi.domain.repository.BookRepository;
 import com.collabera.libraryapi.domain.repository.BorrowerRepository;
 import com.collabera.libraryapi.domain.dto.borrower.BorrowerCreateRequest;
 import com.collabera.libraryapi.domain.dto.borrower.BorrowerResponse;
+import com.collabera.libraryapi.domain.repository.LoanRecordRepository;
 import com.collabera.libraryapi.mapper.BorrowerMapper;
+import com.collabera.libraryapi.mapper.LoanMapper;
+import com.collabera.libraryapi.web.exception.BorrowerNotFoundException;
+import com.collabera.libraryapi.web.exception.InvalidCursorException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class BorrowerService {
     private final BorrowerRepository repo;
     private final BorrowerMapper mapper;
+    private final LoanRecordRepository history;
+    private final BookRepository books;
+    private final LoanMapper loanMapper;
 
     @Transactional
     public BorrowerResponse register(BorrowerCreateRequest request) {
         var saved = repo.save(mapper.toEntity(request));
         return mapper.toResponse(saved);
     }
+
+    /**
+     * One keyset page of the borrower's loans, live and archived, newest first, optionally only
+     * active or returned ones. Three selects whatever the page size: the borrower (so every loan's
+     * borrower resolves to it), the page's loans from the history indexes, and their copies with
+     * catalogs (which the loans' book references then resolve to).
+     */
+    @Transactional
+    public CursorResponse<LoanResponse> loans(UUID borrowerId, LoanStatus status, String after, int requestedSize) {
+        int size = Math.max(requestedSize, 1);
+        repo.findById(borrowerId).orElseThrow(() -> new BorrowerNotFoundException(borrowerId));
+        Instant beforeAt = null;
+        UUID beforeId = null;
+        if (after != null && !after.isBlank()) {
+            String[] key = Cursors.decode(after, 2);
+            try {
+                beforeAt = Instant.parse(key[0]);
+                beforeId = UUID.fromString(key[1]);
+            } catch (DateTimeException | IllegalArgumentException e) {
+                throw new InvalidCursorException();
+            }
+        }
+        List<LoanRecord> page = history.findHistory(borrowerId, status, beforeAt, beforeId, size + 1);
+        boolean hasNext = page.size() > size;
+        if (hasNext) page = page.subList(0, size);
+        if (page.isEmpty()) return new CursorResponse<>(List.of(), size, null);
+
+        books.findWithCatalogByIdIn(page.stream().map(l -> l.getBook().getId()).collect(Collectors.toSet()));
+        List<LoanResponse> content = page.stream().map(loanMapper::toResponse).toList();
+        String next = null;
+        if (hasNext) {
+            LoanResponse last = content.get(content.size() - 1);
+            next = Cursors.encode(last.borrowedAt().toString(), last.id().toString());
+        }
+        return new CursorResponse<>(content, size, next);
+    }
 }
@@ -0,0 +1,27 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.util.Isbn;
+import com.collabera.libraryapi.domain.dto.catalog.CatalogResponse;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.web.exception.CatalogNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/** Availability per ISBN, read from the copy counters kept on {@code book_catalog}. */
+@Service
+@RequiredArgsConstructor
+public class CatalogService {
+    private final BookCatalogRepository catalogs;
+
+    public Page<CatalogResponse> list(boolean onlyAvailable, Pageable pageable) {
+        return catalogs.findResponses(onlyAvailable, pageable);
+    }
+
+    /** Any spelling of a valid ISBN-10/13 finds the row; other text cannot be a catalog key. */
+    public CatalogResponse get(String isbn) {
+        Isbn key = Isbn.tryParse(isbn).orElseThrow(() -> new CatalogNotFoundException(isbn));
+        return catalogs.findResponse(key.ean()).orElseThrow(() -> new CatalogNotFoundException(key.toString()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resolves the catalog for a new copy and counts the copy in, as one statement: the row is inserted
+ * when the ISBN is new, its counters are bumped when title and author match, and nothing changes
+ * when they don't. Concurrent creates of the same ISBN serialize on the row rather than one of them
+ * failing on {@code pk_book_catalog}; {@link #createAbsent} gives bulk ingest the same guarantee for
+ * many catalogs at once. Backends differ only in the SQL dialect.
+ */
+public interface CatalogUpsert {
+
+    /** {@code isbn} is the catalog key, {@code Isbn.ean()}. */
+    Outcome addCopy(long isbn, String title, String author);
+
+    /**
+     * Inserts those of {@code catalogs} that do not exist yet, with no copies counted, in batches of
+     * {@code batchSize}, and returns the ISBNs this call inserted. A catalog created concurrently is
+     * left as the other writer stored it; callers re-read the rows to check title and author.
+     */
+    Set<Long> createAbsent(Collection<BookCatalog> catalogs, int batchSize);
+
+    enum Outcome {
+        /** The catalog did not exist; it now holds this one copy. */
+        CREATED,
+        /** The catalog existed with the same title and author; one copy was added to its counters. */
+        ADDED,
+        /** The catalog exists with a different title or author; nothing was written. */
+        MISMATCH;
+
+        static Outcome of(Optional<Boolean> inserted) {
+            return inserted.map(created -> created ? CREATED : ADDED).orElse(MISMATCH);
+        }
+    }
+}
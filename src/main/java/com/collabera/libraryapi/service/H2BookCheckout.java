@@ -0,0 +1,49 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.constants.Profiles;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkin;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkout;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * H2 has no data-modifying CTEs, so {@link LoanRepository#checkout} and {@link LoanRepository#checkin}
+ * run as their steps: the guarded write (flip, or loan close), the rest only when it hit, then one
+ * read of the result row.
+ */
+@Component
+@Profile(Profiles.EMBEDDED)
+@RequiredArgsConstructor
+public class H2BookCheckout implements BookCheckout {
+    private final BookRepository books;
+    private final BookCatalogRepository catalogs;
+    private final LoanRepository loans;
+    private final AuditorAware<String> auditorAware;
+
+    @Override
+    public Checkout borrow(UUID loanId, UUID bookId, UUID borrowerId, Instant at, Instant dueAt) {
+        if (books.markBorrowedIfAvailable(bookId, borrowerId) == 1) {
+            catalogs.adjustAvailable(bookId, -1);
+            loans.insertLoan(loanId, bookId, borrowerId, at, dueAt, auditorAware.getCurrentAuditor().orElseThrow());
+        }
+        return loans.findCheckout(loanId, bookId, borrowerId);
+    }
+
+    @Override
+    public Checkin returnBook(UUID bookId, UUID borrowerId, Instant at) {
+        Optional<String> loanId = loans.closeActiveLoan(bookId, borrowerId, at, auditorAware.getCurrentAuditor().orElseThrow());
+        if (loanId.isPresent() && books.markReturned(bookId) == 1) {
+            catalogs.adjustAvailable(bookId, 1);
+        }
+        return loans.findCheckin(loanId.map(UUID::fromString).orElse(null), bookId, borrowerId);
+    }
+}
@@ -0,0 +1,34 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.constants.Profiles;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * {@code MERGE} read back through {@code FINAL TABLE}, or insert-only for bulk creates; see
+ * {@link BookCatalogRepository#mergeCopy} and {@link BookCatalogRepository#mergeAbsent}.
+ */
+@Component
+@Profile(Profiles.EMBEDDED)
+@RequiredArgsConstructor
+public class H2CatalogUpsert implements CatalogUpsert {
+    private final BookCatalogRepository catalogs;
+    private final AuditorAware<String> auditorAware;
+
+    @Override
+    public Outcome addCopy(long isbn, String title, String author) {
+        return Outcome.of(catalogs.mergeCopy(isbn, title, author, auditorAware.getCurrentAuditor().orElseThrow()));
+    }
+
+    @Override
+    public Set<Long> createAbsent(Collection<BookCatalog> rows, int batchSize) {
+        return catalogs.mergeAbsent(rows, auditorAware.getCurrentAuditor().orElseThrow(), batchSize);
+    }
+}
@@ -0,0 +1,33 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.constants.Profiles;
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepositoryCustom.ReturnedLoan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * The archive is one plain table, so there is nothing to prepare. H2 has no data-modifying CTEs, so
+ * {@link LoanRepository#archive} runs as its two steps: the copy, then the delete.
+ */
+@Component
+@Profile(Profiles.EMBEDDED)
+@RequiredArgsConstructor
+public class H2LoanArchive implements LoanArchive {
+    private final LoanRepository loans;
+
+    @Override
+    public void prepare(Collection<ReturnedLoan> batch) {
+    }
+
+    @Override
+    public int move(Collection<UUID> ids, Instant returnedBefore) {
+        loans.copyToArchive(ids, returnedBefore);
+        return loans.deleteArchived(ids, returnedBefore);
+    }
+}
@@ -0,0 +1,194 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.util.Isbn;
+import com.collabera.libraryapi.core.util.Uuids;
+import com.collabera.libraryapi.domain.dto.hold.HoldCreateRequest;
+import com.collabera.libraryapi.domain.dto.hold.HoldResponse;
+import com.collabera.libraryapi.domain.entity.Book;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.entity.Borrower;
+import com.collabera.libraryapi.domain.entity.Hold;
+import com.collabera.libraryapi.domain.entity.Hold.Status;
+import com.collabera.libraryapi.domain.event.BookAvailabilityChangedEvent;
+import com.collabera.libraryapi.domain.event.BooksAddedEvent;
+import com.collabera.libraryapi.domain.event.HoldStatusChangedEvent;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import com.collabera.libraryapi.domain.repository.BorrowerRepository;
+import com.collabera.libraryapi.domain.repository.HoldRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkout;
+import com.collabera.libraryapi.web.exception.*;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FIFO waitlists per ISBN. A hold can only be placed while every copy is out; after that, copies
+ * of the title reach the queue before anyone else: {@link LoanService#returnBook} hands the copy
+ * to the oldest waiting hold in its own transaction, and copies registered later are handed out
+ * right after they commit. Serving a hold borrows the copy for its borrower, so the hold turns
+ * straight into a loan.
+ * <p>
+ * Locks are taken copy, then catalog, then hold, the order a return takes them. Placing a hold
+ * locks the catalog row, which a return updates, so a copy cannot come back unseen while a hold
+ * is being queued.
+ */
+@Service
+public class HoldService {
+    private final HoldRepository holds;
+    private final BookRepository books;
+    private final BookCatalogRepository catalogs;
+    private final BorrowerRepository borrowers;
+    private final BookCheckout checkout;
+    private final LoanPolicy policy;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate newTransaction;
+    /** Long-polls per hold, completed after the commit that moves the hold out of WAITING. */
+    private final Map<UUID, Set<DeferredResult<HoldResponse>>> waiters = new ConcurrentHashMap<>();
+
+    public HoldService(HoldRepository holds, BookRepository books, BookCatalogRepository catalogs,
+                       BorrowerRepository borrowers, BookCheckout checkout, LoanPolicy policy,
+                       ApplicationEventPublisher events, PlatformTransactionManager txManager) {
+        this.holds = holds;
+        this.books = books;
+        this.catalogs = catalogs;
+        this.borrowers = borrowers;
+        this.checkout = checkout;
+        this.policy = policy;
+        this.events = events;
+        this.newTransaction = new TransactionTemplate(txManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional
+    public HoldResponse place(HoldCreateRequest req) {
+        Isbn isbn = Isbn.parse(req.isbn());
+        Borrower borrower = borrowers.findById(req.borrowerId())
+                .orElseThrow(() -> new BorrowerNotFoundException(req.borrowerId()));
+        BookCatalog catalog = catalogs.lockByIsbn(isbn.ean())
+                .orElseThrow(() -> new CatalogNotFoundException(isbn.toString()));
+        if (catalog.getAvailableCopies() > 0) throw new CopyAvailableException(isbn.toString());
+        if (holds.existsByBorrowerIdAndCatalogIsbnAndStatus(borrower.getId(), catalog.getIsbn(), Status.WAITING)) {
+            throw new HoldAlreadyPlacedException(borrower.getId(), isbn.toString());
+        }
+        Hold hold = holds.save(Hold.builder().catalog(catalog).borrower(borrower).status(Status.WAITING).build());
+        return toResponse(hold);
+    }
+
+    @Transactional
+    public HoldResponse get(UUID id) {
+        return toResponse(holds.findById(id).orElseThrow(() -> new HoldNotFoundException(id)));
+    }
+
+    /**
+     * The hold now if it is no longer waiting or {@code wait} is zero; otherwise a result completed
+     * when it leaves WAITING, or with its state at the end of {@code wait}. Only changes committed by
+     * this instance wake a waiter early; others are seen when the wait runs out.
+     */
+    public DeferredResult<HoldResponse> await(UUID id, Duration wait) {
+        HoldResponse current = get(id);
+        DeferredResult<HoldResponse> result = new DeferredResult<>(wait.toMillis());
+        if (current.status() != Status.WAITING || wait.isZero()) {
+            result.setResult(current);
+            return result;
+        }
+        waiters.compute(id, (k, set) -> {
+            Set<DeferredResult<HoldResponse>> waiting = set != null ? set : ConcurrentHashMap.newKeySet();
+            waiting.add(result);
+            return waiting;
+        });
+        result.onTimeout(() -> result.setResult(get(id)));
+        result.onCompletion(() -> waiters.computeIfPresent(id, (k, set) -> {
+            set.remove(result);
+            return set.isEmpty() ? null : set;
+        }));
+        // A change committed between the first read and the registration would have found no waiter
+        HoldResponse again = get(id);
+        if (again.status() != Status.WAITING) result.setResult(again);
+        return result;
+    }
+
+    @Transactional
+    public HoldResponse cancel(UUID id) {
+        if (holds.transition(id, Status.WAITING, Status.CANCELLED) == 0) {
+            throw holds.existsById(id) ? new HoldNotWaitingException(id) : new HoldNotFoundException(id);
+        }
+        events.publishEvent(new HoldStatusChangedEvent(id, Status.CANCELLED));
+        return get(id);
+    }
+
+    /**
+     * Gives the copy, just returned in the current transaction, to the oldest waiting hold of its
+     * ISBN. False when nobody is waiting; the copy then stays available.
+     */
+    public boolean handOver(UUID bookId, long isbn, Instant at) {
+        Optional<Hold> head = holds.findFirstByCatalogIsbnAndStatusOrderByIdAsc(isbn, Status.WAITING);
+        head.ifPresent(hold -> fulfil(hold, bookId, at));
+        return head.isPresent();
+    }
+
+    /** Copies registered for titles with a queue go to the queue, one copy per transaction. */
+    @TransactionalEventListener
+    public void onBooksAdded(BooksAddedEvent event) {
+        List<Long> added = event.catalogs().stream().map(c -> Long.valueOf(c.isbn())).toList();
+        List<Long> queued = newTransaction.execute(s -> holds.findIsbnsWithStatus(added, Status.WAITING));
+        for (Long isbn : queued) {
+            while (Boolean.TRUE.equals(newTransaction.execute(s -> serveOne(isbn)))) {
+                // until the title runs out of available copies or of waiting holds
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onHoldStatusChanged(HoldStatusChangedEvent event) {
+        Set<DeferredResult<HoldResponse>> waiting = waiters.remove(event.holdId());
+        if (waiting == null) return;
+        HoldResponse response = get(event.holdId());
+        waiting.forEach(result -> result.setResult(response));
+    }
+
+    private boolean serveOne(long isbn) {
+        Optional<Book> copy = books.findFirstByCatalogIsbnAndBorrowedFalse(isbn);
+        if (copy.isEmpty()) return false;
+        catalogs.lockByIsbn(isbn);
+        UUID bookId = copy.get().getId();
+        if (!handOver(bookId, isbn, Instant.now().truncatedTo(ChronoUnit.MICROS))) return false;
+        events.publishEvent(BookAvailabilityChangedEvent.of(bookId));
+        return true;
+    }
+
+    private void fulfil(Hold hold, UUID bookId, Instant at) {
+        UUID loanId = Uuids.v7();
+        UUID holdId = hold.getId();
+        Checkout result = checkout.borrow(loanId, bookId, hold.getBorrower().getId(), at, policy.dueAt(at));
+        if (!result.getBorrowed()) {
+            throw new IllegalStateException("Copy " + bookId + " was not available for hold " + holdId);
+        }
+        holds.fulfil(holdId, loanId, at);
+        events.publishEvent(new HoldStatusChangedEvent(holdId, Status.FULFILLED));
+    }
+
+    private HoldResponse toResponse(Hold hold) {
+        Long isbn = hold.getCatalog().getIsbn();
+        Long position = hold.getStatus() == Status.WAITING
+                ? holds.countByCatalogIsbnAndStatusAndIdLessThan(isbn, Status.WAITING, hold.getId()) + 1
+                : null;
+        return new HoldResponse(hold.getId(), isbn.toString(), hold.getBorrower().getId(), hold.getStatus(), position,
+                hold.getLoanId(), hold.getCreatedAt(), hold.getFulfilledAt());
+    }
+}
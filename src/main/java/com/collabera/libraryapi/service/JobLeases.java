@@ -0,0 +1,39 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.repository.SchedulerLeaseRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * This instance's side of the {@code scheduler_leases} rows that keep a scheduled job on one
+ * instance at a time. Every call is its own short transaction, so a lease is visible to the other
+ * instances as soon as it is taken or given up.
+ */
+@Component
+public class JobLeases {
+    private final SchedulerLeaseRepository leases;
+    private final TransactionTemplate tx;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    public JobLeases(SchedulerLeaseRepository leases, PlatformTransactionManager txManager) {
+        this.leases = leases;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    /** Takes lease {@code name} until {@code now + period}, or renews it if it is already ours; false when another instance holds it. */
+    public boolean hold(String name, Instant now, Duration period) {
+        Integer acquired = tx.execute(s -> leases.acquire(name, owner, now, now.plus(period)));
+        return acquired != null && acquired == 1;
+    }
+
+    /** Gives lease {@code name} up now if it is ours. */
+    public void release(String name) {
+        tx.executeWithoutResult(s -> leases.release(name, owner, Instant.now()));
+    }
+}
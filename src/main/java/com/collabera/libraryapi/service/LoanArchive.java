@@ -0,0 +1,21 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.repository.LoanRepositoryCustom.ReturnedLoan;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Moves returned loans from {@code loans} to {@code loans_archive}, where history still finds them
+ * through the {@code loan_history} view. Backends differ in how the archive is stored and in how
+ * many statements a move takes.
+ */
+public interface LoanArchive {
+
+    /** Gets the archive ready to take {@code loans}; called in a transaction of its own before {@link #move}. */
+    void prepare(Collection<ReturnedLoan> loans);
+
+    /** Moves those of {@code ids} returned before {@code returnedBefore}; returns how many moved. */
+    int move(Collection<UUID> ids, Instant returnedBefore);
+}
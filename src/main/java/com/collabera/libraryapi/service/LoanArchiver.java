@@ -0,0 +1,121 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepositoryCustom.ReturnedLoan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@code loans} down to the books out and the recent returns. Every
+ * {@code library.archive.interval}, the instance holding the {@code loan-archive} lease moves the
+ * loans returned more than {@code library.archive.after} ago to the archive ({@link LoanArchive}),
+ * in return order, {@code library.archive.batch-size} per transaction with a
+ * {@code library.archive.throttle} pause in between. Only returned loans are moved, and nothing else
+ * writes to them, so borrows and returns never wait on the archiver. The lease is renewed after
+ * every batch and given up at the end.
+ * <p>
+ * Metrics: {@code library.loans.archived} counts moved loans and {@code library.loans.archive.run}
+ * times whole runs.
+ */
+@Slf4j
+@Component
+public class LoanArchiver {
+    static final String LEASE = "loan-archive";
+
+    private final LoanRepository loans;
+    private final LoanArchive archive;
+    private final JobLeases leases;
+    private final TransactionTemplate tx;
+    private final Duration after;
+    private final int batchSize;
+    private final Duration throttle;
+    private final Duration leaseFor;
+    private final Counter archived;
+    private final Timer runs;
+
+    public LoanArchiver(LoanRepository loans, LoanArchive archive, JobLeases leases,
+                        PlatformTransactionManager txManager, MeterRegistry registry,
+                        @Value("${library.archive.after:P365D}") Duration after,
+                        @Value("${library.archive.batch-size:1000}") int batchSize,
+                        @Value("${library.archive.throttle:PT0.1S}") Duration throttle,
+                        @Value("${library.archive.lease:PT2M}") Duration leaseFor) {
+        this.loans = loans;
+        this.archive = archive;
+        this.leases = leases;
+        this.tx = new TransactionTemplate(txManager);
+        this.after = after;
+        this.batchSize = batchSize;
+        this.throttle = throttle;
+        this.leaseFor = leaseFor;
+        this.archived = Counter.builder("library.loans.archived")
+                .description("Returned loans moved to the archive")
+                .register(registry);
+        this.runs = Timer.builder("library.loans.archive.run")
+                .description("Duration of archive runs that held the lease")
+                .register(registry);
+    }
+
+    /** Archives every loan returned before now minus {@code after}; returns how many, or -1 when another instance holds the lease. */
+    @Scheduled(initialDelayString = "${library.archive.interval:PT1H}",
+            fixedDelayString = "${library.archive.interval:PT1H}")
+    public int archive() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        if (!leases.hold(LEASE, now, leaseFor)) {
+            log.debug("Loan archiving skipped: lease {} is held by another instance", LEASE);
+            return -1;
+        }
+        Instant returnedBefore = now.minus(after);
+        long start = System.nanoTime();
+        int total = 0;
+        try {
+            ReturnedLoan last = null;
+            while (true) {
+                ReturnedLoan from = last;
+                List<ReturnedLoan> batch = tx.execute(s -> loans.findArchivable(returnedBefore,
+                        from == null ? null : from.returnedAt(), from == null ? null : from.id(), batchSize));
+                if (batch.isEmpty()) break;
+                tx.executeWithoutResult(s -> archive.prepare(batch));
+                int moved = tx.execute(s -> archive.move(batch.stream().map(ReturnedLoan::id).toList(), returnedBefore));
+                total += moved;
+                archived.increment(moved);
+                if (batch.size() < batchSize) break;
+                last = batch.get(batch.size() - 1);
+                if (!pause()) break;
+                if (!leases.hold(LEASE, Instant.now(), leaseFor)) {
+                    log.warn("Loan archiving stopped after {} loans: lease {} was lost", total, LEASE);
+                    return total;
+                }
+            }
+        } finally {
+            runs.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            leases.release(LEASE);
+        }
+        log.info("Archived {} loans returned before {} in {} ms", total, returnedBefore, (System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+
+    /** The throttle between batches; false when interrupted, which ends the run. */
+    private boolean pause() {
+        if (throttle.isZero()) return true;
+        try {
+            Thread.sleep(throttle.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.collabera.libraryapi.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/** Lending terms: a loan falls due {@code library.loans.period} after it is borrowed, however it was borrowed. */
+@Component
+public class LoanPolicy {
+    private final Duration period;
+
+    public LoanPolicy(@Value("${library.loans.period:P14D}") Duration period) {
+        this.period = period;
+    }
+
+    public Instant dueAt(Instant borrowedAt) {
+        return borrowedAt.plus(period);
+    }
+}
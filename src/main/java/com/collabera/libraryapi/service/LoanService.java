@@ -1,57 +1,145 @@
 package com.collabera.libraryapi.service;
 
+import com.collabera.libraryapi.core.util.Uuids;
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.dto.borrower.BorrowerResponse;
+import com.collabera.libraryapi.domain.entity.Book;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
 import com.collabera.libraryapi.domain.entity.Loan;
+import com.collabera.libraryapi.domain.event.BookAvailabilityChangedEvent;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
 import com.collabera.libraryapi.domain.repository.BookRepository;
 import com.collabera.libraryapi.domain.repository.BorrowerRepository;
 import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkin;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkout;
+import com.collabera.libraryapi.domain.dto.loan.CheckoutRequest;
 import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
 import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
-import com.collabera.libraryapi.mapper.LoanMapper;
 import com.collabera.libraryapi.web.exception.*;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class LoanService {
+    private final BookCheckout checkout;
+    private final BookAvailability availability;
+    private final LoanPolicy policy;
+    private final HoldService holds;
     private final LoanRepository loans;
     private final BookRepository books;
+    private final BookCatalogRepository catalogs;
     private final BorrowerRepository borrowers;
-    private final LoanMapper mapper;
+    private final ApplicationEventPublisher events;
 
+    /**
+     * Borrows without reading anything first: {@link BookCheckout} writes the loan only if the
+     * borrower exists and the copy is available, and its result row tells the failures apart.
+     * A copy {@link BookAvailability} knows to be out is rejected before that, without touching the
+     * database, so for such a copy {@code BOOK_ALREADY_BORROWED} takes precedence over an unknown
+     * borrower.
+     */
     @Transactional
     public LoanResponse borrow(LoanCreateRequest req) {
+        if (availability.isBorrowed(req.bookId())) throw new BookAlreadyBorrowedException(req.bookId());
+        // Stored columns keep microseconds; the response shows what was stored
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Instant due = policy.dueAt(now);
+        UUID loanId = Uuids.v7();
+        Checkout result = checkout.borrow(loanId, req.bookId(), req.borrowerId(), now, due);
+        if (!result.getBorrowerFound()) throw new BorrowerNotFoundException(req.borrowerId());
+        if (!result.getBookFound()) throw new BookNotFoundException(req.bookId());
+        if (!result.getBorrowed()) {
+            availability.taken(req.bookId());
+            throw new BookAlreadyBorrowedException(req.bookId());
+        }
+        availability.borrowing(req.bookId());
+        events.publishEvent(BookAvailabilityChangedEvent.of(req.bookId()));
+
+        return new LoanResponse(loanId,
+                new BookResponse(req.bookId(), result.getIsbn(), result.getTitle(), result.getAuthor(), true),
+                new BorrowerResponse(req.borrowerId(), result.getBorrowerName(), result.getBorrowerEmail()),
+                now, due, null, null);
+    }
+
+    /**
+     * Borrows every book in the request for one borrower, or none of them. Copies are locked in
+     * ascending id order and catalog counters are then updated in ascending ISBN order; since every
+     * checkout (and the single-copy paths, which take one copy and then its catalog) acquires locks
+     * in that global order, concurrent checkouts of overlapping stacks wait for each other instead of
+     * deadlocking. The loans are inserted in one batch. Loans are returned in request order. As in
+     * {@link #borrow}, a copy known to be out is rejected before any database work.
+     */
+    @Transactional
+    public List<LoanResponse> checkout(CheckoutRequest req) {
+        for (UUID id : req.bookIds()) {
+            if (availability.isBorrowed(id)) throw new BookAlreadyBorrowedException(id);
+        }
         var borrower = borrowers.findById(req.borrowerId())
                 .orElseThrow(() -> new BorrowerNotFoundException(req.borrowerId()));
-        var book = books.getRequired(req.bookId());
-        // Atomic update; succeed only if flipped false->true
-        if (books.markBorrowedIfAvailable(book.getId()) == 0) {
-            throw new BookAlreadyBorrowedException(req.bookId());
+        Map<UUID, Book> locked = new HashMap<>();
+        books.lockAllById(req.bookIds()).forEach(book -> locked.put(book.getId(), book));
+        SortedMap<Long, Integer> taken = new TreeMap<>();
+        for (UUID id : req.bookIds()) {
+            Book book = locked.get(id);
+            if (book == null) throw new BookNotFoundException(id);
+            if (book.isBorrowed()) {
+                availability.taken(id);
+                throw new BookAlreadyBorrowedException(id);
+            }
+            taken.merge(book.getCatalog().getIsbn(), 1, Integer::sum);
         }
-        book = books.findWithCatalogById(book.getId()).orElse(book);
+        Map<Long, BookCatalog> byIsbn = new HashMap<>();
+        catalogs.findAllById(taken.keySet()).forEach(c -> byIsbn.put(c.getIsbn(), c));
+
+        books.markBorrowed(req.bookIds());
+        req.bookIds().forEach(availability::borrowing);
+        taken.forEach((isbn, copies) -> catalogs.adjustAvailableByIsbn(isbn, -copies));
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Instant due = policy.dueAt(now);
+        List<Loan> created = req.bookIds().stream()
+                .map(id -> Loan.builder().book(locked.get(id)).borrower(borrower).borrowedAt(now).dueAt(due).build())
+                .toList();
+        loans.insertAll(created, created.size());
+        events.publishEvent(new BookAvailabilityChangedEvent(req.bookIds()));
 
-        var loan = Loan.builder().book(book).borrower(borrower).borrowedAt(Instant.now()).build();
-        return mapper.toResponse(loans.save(loan));
+        var borrowerResponse = new BorrowerResponse(borrower.getId(), borrower.getName(), borrower.getEmail());
+        return created.stream().map(loan -> {
+            BookCatalog c = byIsbn.get(loan.getBook().getCatalog().getIsbn());
+            return new LoanResponse(loan.getId(),
+                    new BookResponse(loan.getBook().getId(), c.getIsbn(), c.getTitle(), c.getAuthor(), true),
+                    borrowerResponse, now, due, null, null);
+        }).toList();
     }
 
+    /**
+     * The mirror of {@link #borrow}: closes the borrower's open loan of the copy and makes it
+     * available again, unless a hold is waiting for the title; {@link HoldService} then lends the
+     * copy to the oldest hold in the same transaction.
+     */
     @Transactional
     public LoanResponse returnBook(LoanCreateRequest req) {
-        borrowers.findById(req.borrowerId())
-                .orElseThrow(() -> new BorrowerNotFoundException(req.borrowerId()));
-        books.findById(req.bookId())
-                .orElseThrow(() -> new BookNotFoundException(req.bookId()));
-        var active = loans.findByBookIdAndReturnedAtIsNull(req.bookId())
-                .orElseThrow(() -> new ActiveLoanNotFoundException(req.bookId()));
-        if (!active.getBorrower().getId().equals(req.borrowerId())) {
-            throw new WrongBorrowerException(req.bookId());
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Checkin result = checkout.returnBook(req.bookId(), req.borrowerId(), now);
+        if (!result.getBorrowerFound()) throw new BorrowerNotFoundException(req.borrowerId());
+        if (!result.getBookFound()) throw new BookNotFoundException(req.bookId());
+        if (result.getLoanId() == null) {
+            throw result.getLentToOther() ? new WrongBorrowerException(req.bookId()) : new ActiveLoanNotFoundException(req.bookId());
         }
-        active.setReturnedAt(Instant.now());
-        loans.save(active);
-        books.markReturned(req.bookId());
-        active.setBook(books.findWithCatalogById(req.bookId()).orElse(active.getBook()));
-        return mapper.toResponse(active);
+        boolean handedOver = holds.handOver(req.bookId(), result.getIsbn(), now);
+        if (!handedOver) availability.released(req.bookId());
+        events.publishEvent(BookAvailabilityChangedEvent.of(req.bookId()));
+
+        return new LoanResponse(UUID.fromString(result.getLoanId()),
+                new BookResponse(req.bookId(), result.getIsbn(), result.getTitle(), result.getAuthor(), handedOver),
+                new BorrowerResponse(req.borrowerId(), result.getBorrowerName(), result.getBorrowerEmail()),
+                result.getBorrowedAt(), result.getDueAt(), now, result.getOverdueAt());
     }
 }
@@ -0,0 +1,138 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepositoryCustom.DueLoan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flags loans that are past due. Every {@code library.overdue.scan-interval}, the instance holding
+ * the {@code overdue-scan} lease walks the loans still out in due order, in keyset chunks of
+ * {@code library.overdue.batch-size} with one short transaction each and a
+ * {@code library.overdue.throttle} pause in between, so a large backlog never holds many row locks
+ * or a long transaction. The lease is renewed after every chunk and given up at the end; if this
+ * instance dies, another one takes over once it expires.
+ * <p>
+ * Metrics: {@code library.loans.overdue.flagged} counts flagged loans (its rate is the scan's
+ * throughput), {@code library.loans.overdue.scan} times whole scans, and
+ * {@code library.loans.overdue.lag} is how long the oldest unflagged overdue loan had been past due
+ * when the last scan started.
+ */
+@Slf4j
+@Component
+public class OverdueScanner {
+    static final String LEASE = "overdue-scan";
+
+    private final LoanRepository loans;
+    private final JobLeases leases;
+    private final AuditorAware<String> auditorAware;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final Duration throttle;
+    private final Duration leaseFor;
+    private final Counter flagged;
+    private final Timer scans;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public OverdueScanner(LoanRepository loans, JobLeases leases, AuditorAware<String> auditorAware,
+                          PlatformTransactionManager txManager, MeterRegistry registry,
+                          @Value("${library.overdue.batch-size:500}") int batchSize,
+                          @Value("${library.overdue.throttle:PT0.1S}") Duration throttle,
+                          @Value("${library.overdue.lease:PT2M}") Duration leaseFor) {
+        this.loans = loans;
+        this.leases = leases;
+        this.auditorAware = auditorAware;
+        this.tx = new TransactionTemplate(txManager);
+        this.batchSize = batchSize;
+        this.throttle = throttle;
+        this.leaseFor = leaseFor;
+        this.flagged = Counter.builder("library.loans.overdue.flagged")
+                .description("Loans flagged as overdue by the overdue scan")
+                .register(registry);
+        this.scans = Timer.builder("library.loans.overdue.scan")
+                .description("Duration of overdue scans that held the lease")
+                .register(registry);
+        Gauge.builder("library.loans.overdue.lag", lagSeconds, AtomicLong::get)
+                .description("How long the oldest unflagged overdue loan had been past due when the last scan started")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /** Flags every loan due before now; returns how many, or -1 when another instance holds the lease. */
+    @Scheduled(initialDelayString = "${library.overdue.scan-interval:PT5M}",
+            fixedDelayString = "${library.overdue.scan-interval:PT5M}")
+    public int scan() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        if (!leases.hold(LEASE, now, leaseFor)) {
+            log.debug("Overdue scan skipped: lease {} is held by another instance", LEASE);
+            return -1;
+        }
+        long start = System.nanoTime();
+        int total = 0;
+        try {
+            tx.execute(s -> loans.findEarliestPendingDue()).ifPresentOrElse(
+                    due -> lagSeconds.set(Math.max(0, Duration.between(due, now).toSeconds())),
+                    () -> lagSeconds.set(0));
+            DueLoan last = null;
+            while (true) {
+                Chunk chunk = flagChunk(now, last);
+                total += chunk.flagged();
+                flagged.increment(chunk.flagged());
+                if (chunk.size() < batchSize) break;
+                last = chunk.last();
+                if (!pause()) break;
+                if (!leases.hold(LEASE, Instant.now(), leaseFor)) {
+                    log.warn("Overdue scan stopped after {} loans: lease {} was lost", total, LEASE);
+                    return total;
+                }
+            }
+        } finally {
+            scans.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            leases.release(LEASE);
+        }
+        log.info("Overdue scan flagged {} loans in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+
+    /** One chunk in its own transaction: the next {@code batchSize} overdue loans after {@code after}, flagged. */
+    private Chunk flagChunk(Instant now, DueLoan after) {
+        return tx.execute(s -> {
+            List<DueLoan> due = loans.findOverdue(now, after == null ? null : after.dueAt(),
+                    after == null ? null : after.id(), batchSize);
+            if (due.isEmpty()) return new Chunk(0, 0, null);
+            int marked = loans.markOverdue(due.stream().map(DueLoan::id).toList(), now,
+                    auditorAware.getCurrentAuditor().orElseThrow());
+            return new Chunk(due.size(), marked, due.get(due.size() - 1));
+        });
+    }
+
+    /** The throttle between chunks; false when interrupted, which ends the scan. */
+    private boolean pause() {
+        if (throttle.isZero()) return true;
+        try {
+            Thread.sleep(throttle.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Chunk(int size, int flagged, DueLoan last) {}
+}
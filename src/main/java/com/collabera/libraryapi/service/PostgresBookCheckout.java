@@ -0,0 +1,32 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.constants.Profiles;
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkin;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkout;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** One round trip each: chained data-modifying CTEs; see {@link LoanRepository#checkout} and {@link LoanRepository#checkin}. */
+@Component
+@Profile(Profiles.POSTGRES)
+@RequiredArgsConstructor
+public class PostgresBookCheckout implements BookCheckout {
+    private final LoanRepository loans;
+    private final AuditorAware<String> auditorAware;
+
+    @Override
+    public Checkout borrow(UUID loanId, UUID bookId, UUID borrowerId, Instant at, Instant dueAt) {
+        return loans.checkout(loanId, bookId, borrowerId, at, dueAt, auditorAware.getCurrentAuditor().orElseThrow());
+    }
+
+    @Override
+    public Checkin returnBook(UUID bookId, UUID borrowerId, Instant at) {
+        return loans.checkin(bookId, borrowerId, at, auditorAware.getCurrentAuditor().orElseThrow());
+    }
+}
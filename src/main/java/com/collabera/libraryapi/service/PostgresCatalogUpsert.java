@@ -0,0 +1,34 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.constants.Profiles;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * {@code INSERT ... ON CONFLICT DO UPDATE ... RETURNING}, or {@code DO NOTHING} for bulk creates; see
+ * {@link BookCatalogRepository#upsertCopy} and {@link BookCatalogRepository#insertAbsent}.
+ */
+@Component
+@Profile(Profiles.POSTGRES)
+@RequiredArgsConstructor
+public class PostgresCatalogUpsert implements CatalogUpsert {
+    private final BookCatalogRepository catalogs;
+    private final AuditorAware<String> auditorAware;
+
+    @Override
+    public Outcome addCopy(long isbn, String title, String author) {
+        return Outcome.of(catalogs.upsertCopy(isbn, title, author, auditorAware.getCurrentAuditor().orElseThrow()));
+    }
+
+    @Override
+    public Set<Long> createAbsent(Collection<BookCatalog> rows, int batchSize) {
+        return catalogs.insertAbsent(rows, auditorAware.getCurrentAuditor().orElseThrow(), batchSize);
+    }
+}
@@ -0,0 +1,55 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.constants.Profiles;
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepositoryCustom.ReturnedLoan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The archive is partitioned by the month loans were borrowed in. {@link #prepare} creates the
+ * partitions a batch needs the first time this instance sees each month (DDL locks the whole
+ * archive, so it is kept out of the move's transaction); a move is one statement, see
+ * {@link LoanRepository#archive}.
+ */
+@Component
+@Profile(Profiles.POSTGRES)
+@RequiredArgsConstructor
+public class PostgresLoanArchive implements LoanArchive {
+    private final LoanRepository loans;
+    /** Months whose partition is known to exist; only added to once the creating transaction commits. */
+    private final Set<YearMonth> partitions = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void prepare(Collection<ReturnedLoan> batch) {
+        Set<YearMonth> created = new TreeSet<>();
+        for (ReturnedLoan loan : batch) {
+            YearMonth month = YearMonth.from(loan.borrowedAt().atOffset(ZoneOffset.UTC));
+            if (!partitions.contains(month) && created.add(month)) loans.createArchivePartition(month);
+        }
+        if (created.isEmpty()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                partitions.addAll(created);
+            }
+        });
+    }
+
+    @Override
+    public int move(Collection<UUID> ids, Instant returnedBefore) {
+        return loans.archive(ids, returnedBefore);
+    }
+}
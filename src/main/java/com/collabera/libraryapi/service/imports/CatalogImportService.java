@@ -0,0 +1,307 @@
+package com.collabera.libraryapi.service.imports;
+
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.book.BulkBookCreateResponse;
+import com.collabera.libraryapi.domain.dto.book.BulkItemResult;
+import com.collabera.libraryapi.domain.dto.imports.ImportJobResponse;
+import com.collabera.libraryapi.service.BookExportService.Format;
+import com.collabera.libraryapi.service.BookIngestService;
+import com.collabera.libraryapi.web.exception.ImportCapacityExceededException;
+import com.collabera.libraryapi.web.exception.ImportJobNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.collabera.libraryapi.core.constants.ErrorCodes.VALIDATION_ERROR;
+
+/**
+ * Background catalog import for files too large for the bulk endpoint.
+ * <p>
+ * The upload is spooled to a temp file, then streamed through three stages joined by bounded
+ * queues: a reader cutting the file into chunks of records, {@code parallelism} parsers turning each
+ * record into a request, and a single writer handing each chunk to {@link BookIngestService#ingest},
+ * which validates and normalizes it, in its own transaction. A full queue blocks the stage feeding it,
+ * so memory stays at a few chunks whatever the file size, and a failure leaves every chunk committed
+ * before it in place. Progress and the first rejected rows are kept in memory for the status endpoint.
+ */
+@Slf4j
+@Service
+public class CatalogImportService {
+    private static final long POLL_MS = 100;
+
+    private final BookIngestService ingest;
+    private final ObjectMapper objectMapper;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int maxRecordLength;
+    private final int queueCapacity;
+    private final int maxErrors;
+    private final int maxJobs;
+    private final Duration retention;
+
+    private final Semaphore slots;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService pool;
+
+    public CatalogImportService(BookIngestService ingest, ObjectMapper objectMapper,
+                                @Value("${library.import.parallelism:2}") int parallelism,
+                                @Value("${library.import.chunk-size:500}") int chunkSize,
+                                @Value("${library.import.max-record-length:65536}") int maxRecordLength,
+                                @Value("${library.import.queue-capacity:4}") int queueCapacity,
+                                @Value("${library.import.max-errors:1000}") int maxErrors,
+                                @Value("${library.import.max-jobs:2}") int maxJobs,
+                                @Value("${library.import.retention:1h}") Duration retention) {
+        this.ingest = ingest;
+        this.objectMapper = objectMapper;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.maxRecordLength = maxRecordLength;
+        this.queueCapacity = queueCapacity;
+        this.maxErrors = maxErrors;
+        this.maxJobs = maxJobs;
+        this.retention = retention;
+        this.slots = new Semaphore(maxJobs);
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "catalog-import-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Spools {@code upload}, checks its header and starts the job; progress is then polled via {@link #status}. */
+    public ImportJobResponse start(MultipartFile upload, Format format) {
+        if (!slots.tryAcquire()) throw new ImportCapacityExceededException(maxJobs);
+        Path file = null;
+        try {
+            file = Files.createTempFile("catalog-import-", "." + format.getExtension());
+            upload.transferTo(file);
+            ImportRecordParser parser;
+            try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                parser = ImportRecordParser.of(format, format == Format.CSV ? in.readLine() : null, objectMapper);
+            }
+            jobs.values().removeIf(j -> j.finishedBefore(Instant.now().minus(retention)));
+            ImportJob job = new ImportJob(format, maxErrors);
+            jobs.put(job.id(), job);
+            Path spooled = file;
+            pool.execute(() -> {
+                try {
+                    run(job, spooled, parser);
+                } finally {
+                    delete(spooled);
+                    slots.release();
+                }
+            });
+            return job.toResponse();
+        } catch (IOException e) {
+            delete(file);
+            slots.release();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            delete(file);
+            slots.release();
+            throw e;
+        }
+    }
+
+    public ImportJobResponse status(UUID id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) throw new ImportJobNotFoundException(id);
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Runs the pipeline to completion on the calling thread (the writer stage). */
+    void run(ImportJob job, Path file, ImportRecordParser parser) {
+        BlockingQueue<Chunk<String>> records = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Chunk<BookCreateRequest>> rows = new ArrayBlockingQueue<>(queueCapacity);
+        List<Future<?>> stages = new ArrayList<>();
+        stages.add(pool.submit(() -> stage(job, "read", () -> read(job, file, parser, records))));
+        for (int i = 0; i < parallelism; i++) {
+            stages.add(pool.submit(() -> stage(job, "parse", () -> parse(job, parser, records, rows))));
+        }
+        stage(job, "write", () -> write(job, rows));
+        job.complete();
+        stages.forEach(f -> f.cancel(true));
+        log.info("Import {} finished: {}", job.id(), job.toResponse().status());
+    }
+
+    /**
+     * Cuts the file into records. A CSV record spans lines while a quote is open; one that grows past
+     * {@code maxRecordLength} (typically an unterminated quote) is rejected as a row and reading
+     * resumes on the next line, so a stray quote costs one row rather than the rest of the file.
+     */
+    private void read(ImportJob job, Path file, ImportRecordParser parser, BlockingQueue<Chunk<String>> out)
+            throws IOException, InterruptedException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNo = 0;
+            if (parser.hasHeader()) {
+                in.readLine();
+                lineNo++;
+            }
+            Chunk<String> chunk = new Chunk<>(chunkSize);
+            StringBuilder record = new StringBuilder();
+            String line;
+            while ((line = in.readLine()) != null) {
+                long start = ++lineNo;
+                if (line.isBlank()) continue;
+                record.setLength(0);
+                record.append(line);
+                boolean open = parser.togglesQuote(line);
+                while (open && record.length() <= maxRecordLength && (line = in.readLine()) != null) {
+                    record.append('\n').append(line);
+                    open ^= parser.togglesQuote(line);
+                    lineNo++;
+                }
+                job.read();
+                if (record.length() > maxRecordLength) {
+                    job.reject(start, VALIDATION_ERROR, "Record is longer than " + maxRecordLength + " characters"
+                            + (open ? "; unterminated quoted field?" : ""));
+                    if (record.capacity() > 2 * maxRecordLength) record = new StringBuilder();
+                    continue;
+                }
+                chunk.add(start, record.toString());
+                if (chunk.size() == chunkSize) {
+                    put(job, out, chunk);
+                    chunk = new Chunk<>(chunkSize);
+                }
+            }
+            if (chunk.size() > 0) put(job, out, chunk);
+        }
+        for (int i = 0; i < parallelism; i++) put(job, out, Chunk.end());
+    }
+
+    private void parse(ImportJob job, ImportRecordParser parser, BlockingQueue<Chunk<String>> in,
+                       BlockingQueue<Chunk<BookCreateRequest>> out) throws InterruptedException {
+        Chunk<String> chunk;
+        while (!(chunk = take(job, in)).isEnd()) {
+            Chunk<BookCreateRequest> parsed = new Chunk<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                long line = chunk.lines[i];
+                BookCreateRequest item;
+                try {
+                    item = parser.parse(chunk.items.get(i));
+                } catch (ImportRecordParser.InvalidRecordException e) {
+                    job.reject(line, VALIDATION_ERROR, e.getMessage());
+                    continue;
+                }
+                parsed.add(line, item);
+            }
+            if (parsed.size() > 0) put(job, out, parsed);
+        }
+        put(job, out, Chunk.end());
+    }
+
+    /** Single writer: one transaction per chunk, so catalogs first seen in a chunk are visible to the next. */
+    private void write(ImportJob job, BlockingQueue<Chunk<BookCreateRequest>> in) throws InterruptedException {
+        int parsersLeft = parallelism;
+        while (parsersLeft > 0) {
+            Chunk<BookCreateRequest> chunk = take(job, in);
+            if (chunk.isEnd()) {
+                parsersLeft--;
+                continue;
+            }
+            BulkBookCreateResponse result = ingest.ingest(chunk.items);
+            job.imported(result.created());
+            for (BulkItemResult item : result.items()) {
+                if (item.status() == BulkItemResult.Status.REJECTED) {
+                    job.reject(chunk.lines[item.index()], item.code(), item.message());
+                }
+            }
+        }
+    }
+
+    /** Runs one stage; any failure stops the whole job, which makes the other stages give up. */
+    private static void stage(ImportJob job, String name, Stage body) {
+        try {
+            body.run();
+        } catch (CancellationException e) {
+            // another stage failed first
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Import interrupted");
+        } catch (Exception e) {
+            log.warn("Import {} failed in {} stage", job.id(), name, e);
+            job.fail(name + " failed: " + e.getMessage());
+        }
+    }
+
+    private static <T> void put(ImportJob job, BlockingQueue<T> queue, T item) throws InterruptedException {
+        while (!queue.offer(item, POLL_MS, TimeUnit.MILLISECONDS)) {
+            if (job.failed()) throw new CancellationException();
+        }
+    }
+
+    private static <T> T take(ImportJob job, BlockingQueue<T> queue) throws InterruptedException {
+        T item;
+        while ((item = queue.poll(POLL_MS, TimeUnit.MILLISECONDS)) == null) {
+            if (job.failed()) throw new CancellationException();
+        }
+        return item;
+    }
+
+    private static void delete(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool file {}", file, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /** Records (raw text or parsed requests) with the file line each one starts on. */
+    private static final class Chunk<T> {
+        /** Sent once per consumer after the last chunk. */
+        private static final Chunk<?> END = new Chunk<>(0);
+
+        final long[] lines;
+        final List<T> items;
+
+        Chunk(int capacity) {
+            this.lines = new long[capacity];
+            this.items = new ArrayList<>(capacity);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Chunk<T> end() {
+            return (Chunk<T>) END;
+        }
+
+        boolean isEnd() {
+            return this == END;
+        }
+
+        void add(long line, T item) {
+            lines[items.size()] = line;
+            items.add(item);
+        }
+
+        int size() {
+            return items.size();
+        }
+    }
+}
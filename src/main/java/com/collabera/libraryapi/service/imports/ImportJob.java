@@ -0,0 +1,84 @@
+package com.collabera.libraryapi.service.imports;
+
+import com.collabera.libraryapi.domain.dto.imports.ImportJobResponse;
+import com.collabera.libraryapi.domain.dto.imports.ImportJobResponse.Status;
+import com.collabera.libraryapi.domain.dto.imports.ImportRowError;
+import com.collabera.libraryapi.service.BookExportService.Format;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Progress of one import, updated by the pipeline stages and read by status requests. */
+final class ImportJob {
+    private final UUID id = UUID.randomUUID();
+    private final Format format;
+    private final int maxErrors;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private volatile Status status = Status.RUNNING;
+    private volatile String failure;
+    private volatile Instant finishedAt;
+
+    ImportJob(Format format, int maxErrors) {
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    UUID id() {
+        return id;
+    }
+
+    void read() {
+        rowsRead.incrementAndGet();
+    }
+
+    void imported(int count) {
+        imported.addAndGet(count);
+    }
+
+    /** Counts every rejected row but keeps only the first {@code maxErrors}, so memory stays bounded. */
+    void reject(long line, String code, String message) {
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) errors.add(new ImportRowError(line, code, message));
+        }
+    }
+
+    synchronized void complete() {
+        if (status != Status.RUNNING) return;
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    /** The first failure wins; later ones are consequences of the stop. */
+    synchronized void fail(String reason) {
+        if (status != Status.RUNNING) return;
+        failure = reason;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    boolean failed() {
+        return status == Status.FAILED;
+    }
+
+    boolean finishedBefore(Instant cutoff) {
+        Instant finished = finishedAt;
+        return finished != null && finished.isBefore(cutoff);
+    }
+
+    ImportJobResponse toResponse() {
+        List<ImportRowError> snapshot;
+        synchronized (errors) {
+            snapshot = List.copyOf(errors);
+        }
+        return new ImportJobResponse(id, status, format.name(), rowsRead.get(), imported.get(), rejected.get(),
+                snapshot, failure, startedAt, finishedAt);
+    }
+}
@@ -0,0 +1,145 @@
+package com.collabera.libraryapi.service.imports;
+
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.service.BookExportService.Format;
+import com.collabera.libraryapi.web.exception.InvalidImportFileException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns one record of an import file into a {@link BookCreateRequest}. Accepts the export formats, so
+ * an export file imports as is: CSV needs a header naming {@code isbn}, {@code title} and
+ * {@code author} (other columns are ignored), NDJSON objects may carry extra fields.
+ * Implementations are stateless after construction and shared by the parser threads.
+ */
+abstract class ImportRecordParser {
+
+    /** Parser for {@code format}; {@code header} is the first line of the file and only read for CSV. */
+    static ImportRecordParser of(Format format, String header, ObjectMapper objectMapper) {
+        return format == Format.CSV ? new Csv(header) : new Ndjson(objectMapper);
+    }
+
+    /** Whether the first line is a header rather than a record. */
+    abstract boolean hasHeader();
+
+    /**
+     * Whether {@code line} opens or closes a CSV quote, i.e. holds an odd number of quote characters.
+     * A record continues onto the next line while the lines read so far toggled the quote an odd
+     * number of times, so each line is scanned once however long the record grows.
+     */
+    boolean togglesQuote(String line) {
+        return false;
+    }
+
+    /** @throws InvalidRecordException when the record is malformed */
+    abstract BookCreateRequest parse(String record);
+
+    static final class InvalidRecordException extends RuntimeException {
+        InvalidRecordException(String message) { super(message, null, false, false); }
+    }
+
+    private static final class Ndjson extends ImportRecordParser {
+        private final ObjectReader reader;
+
+        Ndjson(ObjectMapper objectMapper) {
+            this.reader = objectMapper.readerFor(BookCreateRequest.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        }
+
+        @Override
+        boolean hasHeader() {
+            return false;
+        }
+
+        @Override
+        BookCreateRequest parse(String record) {
+            try {
+                BookCreateRequest item = reader.readValue(record);
+                if (item == null) throw new InvalidRecordException("Expected a JSON object");
+                return item;
+            } catch (JsonProcessingException e) {
+                throw new InvalidRecordException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /** RFC 4180 fields, the inverse of {@code BookExportService.csv}. */
+    private static final class Csv extends ImportRecordParser {
+        private final int isbn;
+        private final int title;
+        private final int author;
+
+        Csv(String header) {
+            if (header == null) throw new InvalidImportFileException("CSV file is empty; expected a header with isbn, title and author");
+            List<String> columns = Arrays.stream(fields(header.strip()))
+                    .map(c -> c.strip().toLowerCase(Locale.ROOT))
+                    .toList();
+            this.isbn = columns.indexOf("isbn");
+            this.title = columns.indexOf("title");
+            this.author = columns.indexOf("author");
+            if (isbn < 0 || title < 0 || author < 0) {
+                throw new InvalidImportFileException("CSV header must name isbn, title and author columns; got: " + header);
+            }
+        }
+
+        @Override
+        boolean hasHeader() {
+            return true;
+        }
+
+        @Override
+        boolean togglesQuote(String line) {
+            boolean odd = false;
+            for (int i = 0; i < line.length(); i++) {
+                if (line.charAt(i) == '"') odd = !odd;
+            }
+            return odd;
+        }
+
+        @Override
+        BookCreateRequest parse(String record) {
+            String[] fields = fields(record);
+            int needed = Math.max(isbn, Math.max(title, author)) + 1;
+            if (fields.length < needed) {
+                throw new InvalidRecordException("Expected at least " + needed + " columns, got " + fields.length);
+            }
+            return new BookCreateRequest(fields[isbn], fields[title], fields[author]);
+        }
+
+        static String[] fields(String record) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < record.length(); i++) {
+                char c = record.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c != '\r') {
+                    field.append(c);
+                }
+            }
+            if (quoted) throw new InvalidRecordException("Unterminated quoted field");
+            fields.add(field.toString());
+            return fields.toArray(String[]::new);
+        }
+    }
+}
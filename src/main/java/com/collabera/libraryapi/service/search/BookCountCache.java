@@ -0,0 +1,40 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.domain.event.BooksAddedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Total matching-book counts per normalized search term, so offset pages don't repeat the
+ * {@code count(*)} for every request. Entries whose term matches a newly added catalog are dropped
+ * after commit; the TTL bounds staleness from a count racing with an insert.
+ */
+@Component
+public class BookCountCache {
+    private final Cache<String, Long> counts;
+
+    public BookCountCache(@Value("${library.search.count-cache.max-size:1024}") long maxSize,
+                          @Value("${library.search.count-cache.ttl:60s}") Duration ttl) {
+        this.counts = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    public long get(String search, LongSupplier counter) {
+        return counts.get(normalize(search), k -> counter.getAsLong());
+    }
+
+    @TransactionalEventListener
+    public void onBooksAdded(BooksAddedEvent event) {
+        counts.asMap().keySet().removeIf(term -> event.catalogs().stream().anyMatch(c -> c.matches(term)));
+    }
+
+    public static String normalize(String search) {
+        return search == null || search.isBlank() ? "" : search.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,72 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.event.BookAvailabilityChangedEvent;
+import com.collabera.libraryapi.domain.event.BooksAddedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Listing pages per normalized search, page, size and sort. Bounded by the number of cached rows
+ * (Caffeine's TinyLFU admission keeps the hot terms and first pages); hit/miss counts are published
+ * as {@code cache.*{cache=books.page}} meters.
+ * <p>
+ * Entries are dropped after commit when new copies match their term or when a book they contain
+ * is borrowed or returned. A page loaded while such a commit landed is not kept, since it may have
+ * been read before it.
+ */
+@Component
+public class BookPageCache {
+    private final Cache<Key, Page<BookResponse>> pages;
+    private final AtomicLong writes = new AtomicLong();
+
+    public BookPageCache(MeterRegistry registry,
+                         @Value("${library.search.page-cache.max-rows:10000}") long maxRows,
+                         @Value("${library.search.page-cache.ttl:5m}") Duration ttl) {
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Key key, Page<BookResponse> page) -> page.getNumberOfElements() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, pages, "books.page");
+    }
+
+    public Page<BookResponse> get(String search, Pageable pageable, Supplier<Page<BookResponse>> loader) {
+        Key key = new Key(BookCountCache.normalize(search), pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        Page<BookResponse> cached = pages.getIfPresent(key);
+        if (cached != null) return cached;
+        long seen = writes.get();
+        Page<BookResponse> page = loader.get();
+        pages.put(key, page);
+        // An invalidation that ran between the load and the put would have missed this entry
+        if (writes.get() != seen) pages.invalidate(key);
+        return page;
+    }
+
+    @TransactionalEventListener
+    public void onBooksAdded(BooksAddedEvent event) {
+        writes.incrementAndGet();
+        pages.asMap().keySet().removeIf(key -> event.catalogs().stream().anyMatch(c -> c.matches(key.search())));
+    }
+
+    @TransactionalEventListener
+    public void onAvailabilityChanged(BookAvailabilityChangedEvent event) {
+        writes.incrementAndGet();
+        pages.asMap().values().removeIf(page -> page.stream().anyMatch(b -> event.bookIds().contains(b.id())));
+    }
+
+    private record Key(String search, int page, int size, Sort sort) {}
+}
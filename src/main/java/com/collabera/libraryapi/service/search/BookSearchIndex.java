@@ -0,0 +1,285 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.core.constants.Profiles;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.event.CatalogCreatedEvent;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory trigram inverted index over {@link BookCatalog} title, author and ISBN.
+ * <p>
+ * Answers the same question as {@code BookRepository.bySearch} (case-insensitive substring
+ * match on any of the three columns) without a leading-wildcard {@code LIKE} scan. Candidates
+ * from the posting-list intersection are verified against the stored text, so results are exact.
+ * Catalog rows are immutable and never deleted, which keeps the index append-only.
+ * <p>
+ * {@link #rank} scores the same match set with BM25 over title, author and ISBN tokens (title
+ * terms count double; a query token matches any document token it prefixes, so a half-typed last
+ * word still scores) and keeps only the best {@code limit} in a bounded heap.
+ */
+@Slf4j
+@Component
+@Profile(Profiles.EMBEDDED)
+public class BookSearchIndex implements CatalogSearch {
+    static final int GRAM = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    /** Lowest score first; on equal scores the later title is the worse one. */
+    private static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::score)
+            .thenComparing(s -> s.doc().title(), Comparator.reverseOrder())
+            .thenComparing(s -> s.doc().isbn(), Comparator.reverseOrder());
+
+    private final BookCatalogRepository catalogs;
+    private final int maxCandidates;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    /** Document frequency per token; sorted so a partial token can sum over the tokens it prefixes. */
+    private final NavigableMap<String, Integer> docFreq = new TreeMap<>();
+    private long totalTokens;
+    private volatile boolean ready;
+
+    public BookSearchIndex(BookCatalogRepository catalogs,
+                           @Value("${library.search.max-candidates:1000}") int maxCandidates) {
+        this.catalogs = catalogs;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * ISBNs of catalogs whose title, author or ISBN contain {@code term} (case-insensitive), in
+     * insertion order. Empty when the index cannot narrow the search (not loaded yet or too many
+     * matches for an {@code IN} list); callers then fall back to the SQL predicate.
+     */
+    @Override
+    public Optional<List<String>> search(String term) {
+        if (!ready || term == null || term.isEmpty()) return Optional.empty();
+        String needle = term.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            List<String> matches = new ArrayList<>();
+            boolean complete = forEachMatch(needle, doc -> {
+                matches.add(doc.isbn());
+                return matches.size() <= maxCandidates;
+            });
+            return complete ? Optional.of(matches) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} matching ISBNs, highest BM25 score first (ties by title). The match set is
+     * the one {@link #search} returns, however large; only a {@code limit}-sized heap is kept.
+     */
+    @Override
+    public Optional<List<String>> rank(String term, int limit) {
+        if (!ready || term == null || term.isEmpty() || limit <= 0 || limit > maxCandidates) return Optional.empty();
+        String needle = term.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Bm25 bm25 = new Bm25(tokens(needle));
+            PriorityQueue<Scored> heap = new PriorityQueue<>(limit + 1, WORST_FIRST);
+            forEachMatch(needle, doc -> {
+                Scored scored = new Scored(doc, bm25.score(doc));
+                if (heap.size() < limit) {
+                    heap.offer(scored);
+                } else if (WORST_FIRST.compare(scored, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.offer(scored);
+                }
+                return true;
+            });
+            String[] ranked = new String[heap.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) ranked[i] = heap.poll().doc().isbn();
+            return Optional.of(List.of(ranked));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(String isbn, String title, String author) {
+        lock.writeLock().lock();
+        try {
+            if (ordinals.containsKey(isbn)) return;
+            int ordinal = docs.size();
+            String lowerTitle = title.toLowerCase(Locale.ROOT);
+            String lowerAuthor = author.toLowerCase(Locale.ROOT);
+            String lowerIsbn = isbn.toLowerCase(Locale.ROOT);
+            Doc doc = new Doc(isbn, lowerTitle, lowerAuthor, lowerIsbn,
+                    tokens(lowerTitle), tokens(lowerAuthor), tokens(lowerIsbn));
+            docs.add(doc);
+            ordinals.put(isbn, ordinal);
+            index(doc.title(), ordinal);
+            index(doc.author(), ordinal);
+            index(doc.isbnLower(), ordinal);
+            Set<String> distinct = new HashSet<>();
+            for (String[] field : List.of(doc.titleTokens(), doc.authorTokens(), doc.isbnTokens())) {
+                Collections.addAll(distinct, field);
+            }
+            distinct.forEach(token -> docFreq.merge(token, 1, Integer::sum));
+            totalTokens += doc.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        for (BookCatalog c : catalogs.findAll()) {
+            add(c.getIsbn().toString(), c.getTitle(), c.getAuthor());
+        }
+        ready = true;
+        log.info("Book search index loaded {} catalogs in {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onCatalogCreated(CatalogCreatedEvent event) {
+        add(event.isbn(), event.title(), event.author());
+    }
+
+    /**
+     * Feeds every document containing {@code needle} to {@code sink}, in insertion order, until the
+     * sink returns false. Returns false when stopped early. Caller holds the read lock.
+     */
+    private boolean forEachMatch(String needle, Predicate<Doc> sink) {
+        if (needle.length() < GRAM) {
+            for (Doc doc : docs) {
+                if (doc.contains(needle) && !sink.test(doc)) return false;
+            }
+            return true;
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            Postings p = postings.get(gram(needle, i));
+            if (p == null) return true;
+            lists.add(p);
+        }
+        lists.sort(Comparator.comparingInt(p -> p.size));
+        int[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int size = candidates.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            size = lists.get(i).retainIn(candidates, size);
+        }
+        for (int i = 0; i < size; i++) {
+            Doc doc = docs.get(candidates[i]);
+            if (doc.contains(needle) && !sink.test(doc)) return false;
+        }
+        return true;
+    }
+
+    private static String[] tokens(String lower) {
+        return Arrays.stream(lower.split("[^\\p{L}\\p{N}]+")).filter(t -> !t.isEmpty()).toArray(String[]::new);
+    }
+
+    private void index(String text, int ordinal) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            postings.computeIfAbsent(gram(text, i), k -> new Postings()).add(ordinal);
+        }
+    }
+
+    /** Packs three UTF-16 chars into one long so the posting map needs no string keys. */
+    private static long gram(String s, int at) {
+        return ((long) s.charAt(at) << 32) | ((long) s.charAt(at + 1) << 16) | s.charAt(at + 2);
+    }
+
+    private record Doc(String isbn, String title, String author, String isbnLower,
+                       String[] titleTokens, String[] authorTokens, String[] isbnTokens) {
+        boolean contains(String needle) {
+            return title.contains(needle) || author.contains(needle) || isbnLower.contains(needle);
+        }
+
+        int length() {
+            return titleTokens.length + authorTokens.length + isbnTokens.length;
+        }
+
+        /** Weighted count of tokens starting with {@code prefix}. */
+        int frequency(String prefix) {
+            return TITLE_WEIGHT * count(titleTokens, prefix) + count(authorTokens, prefix) + count(isbnTokens, prefix);
+        }
+
+        private static int count(String[] tokens, String prefix) {
+            int n = 0;
+            for (String t : tokens) if (t.startsWith(prefix)) n++;
+            return n;
+        }
+    }
+
+    private record Scored(Doc doc, double score) {}
+
+    /** BM25 for one query, with IDFs resolved once against the current corpus. Caller holds the read lock. */
+    private final class Bm25 {
+        private final String[] terms;
+        private final double[] idf;
+        private final double avgLength;
+
+        Bm25(String[] terms) {
+            this.terms = terms;
+            this.idf = new double[terms.length];
+            int n = docs.size();
+            for (int i = 0; i < terms.length; i++) {
+                long df = 0;
+                for (int f : docFreq.subMap(terms[i], true, terms[i] + Character.MAX_VALUE, false).values()) df += f;
+                df = Math.min(df, n);
+                idf[i] = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+            }
+            this.avgLength = n == 0 ? 1 : Math.max(1.0, (double) totalTokens / n);
+        }
+
+        double score(Doc doc) {
+            double norm = K1 * (1 - B + B * doc.length() / avgLength);
+            double score = 0;
+            for (int i = 0; i < terms.length; i++) {
+                int tf = doc.frequency(terms[i]);
+                if (tf > 0) score += idf[i] * tf * (K1 + 1) / (tf + norm);
+            }
+            return score;
+        }
+    }
+
+    /** Sorted, de-duplicated ordinals; ordinals only grow so appends keep the order. */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) return;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        /** Keeps in {@code target[0..len)} only the ordinals also present here; returns the new length. */
+        int retainIn(int[] target, int len) {
+            int out = 0, j = 0;
+            for (int i = 0; i < len && j < size; i++) {
+                while (j < size && ids[j] < target[i]) j++;
+                if (j < size && ids[j] == target[i]) target[out++] = target[i];
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.collabera.libraryapi.service.search;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves a free-text search term to the catalogs it matches. The match rule is the one
+ * {@code BookRepository.bySearch} defines: case-insensitive substring of title, author or ISBN.
+ * Backends differ only in how they find and rank those catalogs.
+ */
+public interface CatalogSearch {
+
+    /**
+     * ISBNs of matching catalogs, best match first. Empty when the backend cannot narrow the term
+     * cheaply (too many matches, not ready); callers then filter with {@code bySearch} instead.
+     */
+    Optional<List<String>> search(String term);
+
+    /**
+     * The {@code limit} best-ranked ISBNs among the same matches, best first; cheaper than
+     * {@link #search} for broad terms since only the top ones are kept. Empty when the backend
+     * cannot rank the term (not ready, {@code limit} beyond its candidate bound).
+     */
+    Optional<List<String>> rank(String term, int limit);
+}
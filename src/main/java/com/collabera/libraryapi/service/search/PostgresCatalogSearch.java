@@ -0,0 +1,47 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.core.constants.Profiles;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Database-native search for PostgreSQL. The {@code pg_trgm} GIN indexes serve the substring match
+ * of {@code BookRepository.bySearch} directly, so plain search leaves the filter to it; only
+ * relevance sorting runs the ranked query, which orders matches by {@code ts_rank} over the
+ * generated {@code search_vector}.
+ */
+@Component
+@Profile(Profiles.POSTGRES)
+public class PostgresCatalogSearch implements CatalogSearch {
+    private final BookCatalogRepository catalogs;
+    private final int maxCandidates;
+
+    public PostgresCatalogSearch(BookCatalogRepository catalogs,
+                                 @Value("${library.search.max-candidates:1000}") int maxCandidates) {
+        this.catalogs = catalogs;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Always defers to {@code bySearch}: listing filters with the same indexed predicate in its own
+     * query, where an ISBN list would cost a second match and a rank nobody asked for.
+     */
+    @Override
+    public Optional<List<String>> search(String term) {
+        return Optional.empty();
+    }
+
+    /** The ranked query with {@code LIMIT limit}, which PostgreSQL answers with a bounded top-N sort. */
+    @Override
+    public Optional<List<String>> rank(String term, int limit) {
+        if (term == null || term.isEmpty() || limit <= 0 || limit > maxCandidates) return Optional.empty();
+        String lower = term.toLowerCase(Locale.ROOT);
+        return Optional.of(catalogs.searchRanked(lower, "%" + lower + "%", limit));
+    }
+}
@@ -0,0 +1,80 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.domain.dto.book.BookSuggestion;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.event.CatalogCreatedEvent;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted prefix map over distinct catalog titles and authors for type-ahead. Every word start of a
+ * title/author is a key, so {@code "jav"} suggests "Effective Java" as well as "Java Concurrency".
+ * Lookups are a skip-list range scan: lock-free, {@code O(log n + limit)}, no database access.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestionIndex {
+    /** Separates the searchable suffix from the rest of the key; sorts below every real character. */
+    private static final char SEP = '\u0000';
+
+    private final BookCatalogRepository catalogs;
+    private final NavigableMap<String, BookSuggestion> keys = new ConcurrentSkipListMap<>();
+
+    /** Up to {@code limit} distinct suggestions having a word that starts with {@code prefix}, in key order. */
+    public List<BookSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) return List.of();
+        String from = prefix.strip().toLowerCase(Locale.ROOT);
+        Set<BookSuggestion> out = new LinkedHashSet<>();
+        for (BookSuggestion s : keys.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            if (out.add(s) && out.size() == limit) break;
+        }
+        return new ArrayList<>(out);
+    }
+
+    public void add(String title, String author) {
+        put(new BookSuggestion(title, BookSuggestion.Kind.TITLE));
+        put(new BookSuggestion(author, BookSuggestion.Kind.AUTHOR));
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        for (BookCatalog c : catalogs.findAll()) {
+            add(c.getTitle(), c.getAuthor());
+        }
+        log.info("Suggestion index loaded {} keys in {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onCatalogCreated(CatalogCreatedEvent event) {
+        add(event.title(), event.author());
+    }
+
+    private void put(BookSuggestion suggestion) {
+        String lower = suggestion.text().toLowerCase(Locale.ROOT);
+        String tail = SEP + suggestion.kind().name() + SEP + suggestion.text();
+        for (int i = 0; i < lower.length(); i++) {
+            if (Character.isLetterOrDigit(lower.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(lower.charAt(i - 1)))) {
+                keys.putIfAbsent(lower.substring(i) + tail, suggestion);
+            }
+        }
+    }
+}
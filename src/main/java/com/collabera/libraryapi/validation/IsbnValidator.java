@@ -0,0 +1,14 @@
+package com.collabera.libraryapi.validation;
+
+import com.collabera.libraryapi.core.util.Isbn;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class IsbnValidator implements ConstraintValidator<ValidIsbn, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence isbn, ConstraintValidatorContext context) {
+        if (isbn == null || isbn.toString().isBlank()) return true;
+        return Isbn.isValid(isbn);
+    }
+}
@@ -0,0 +1,17 @@
+package com.collabera.libraryapi.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+/** ISBN-10 or ISBN-13 with a correct check digit (see {@code Isbn}); null and blank are left to {@code @NotBlank}. */
+@Documented
+@Constraint(validatedBy = IsbnValidator.class)
+@Target({ ElementType.FIELD, ElementType.RECORD_COMPONENT, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidIsbn {
+    String message() default "Invalid ISBN-10/13 format";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
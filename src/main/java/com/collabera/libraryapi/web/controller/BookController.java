@@ -1,10 +1,17 @@
 package com.collabera.libraryapi.web.controller;
 
 import com.collabera.libraryapi.aop.annotations.PageSizeLimit;
+import com.collabera.libraryapi.core.util.CursorResponse;
 import com.collabera.libraryapi.core.util.PageResponse;
 import com.collabera.libraryapi.core.util.Paging;
+import com.collabera.libraryapi.core.util.SliceResponse;
 import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
 import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.dto.book.BookSuggestion;
+import com.collabera.libraryapi.domain.dto.book.BulkBookCreateRequest;
+import com.collabera.libraryapi.domain.dto.book.BulkBookCreateResponse;
+import com.collabera.libraryapi.service.BookExportService;
+import com.collabera.libraryapi.service.BookIngestService;
 import com.collabera.libraryapi.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,8 +22,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @Tag(name = "Books")
 @RestController
@@ -24,6 +37,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class BookController {
     private final BookService service;
+    private final BookExportService exporter;
+    private final BookIngestService ingest;
 
     @Operation(summary = "Register a new book copy (catalog deduplicated by ISBN)")
     @PostMapping @ResponseStatus(HttpStatus.CREATED)
@@ -31,7 +46,13 @@ public class BookController {
         return service.create(request);
     }
 
-    @Operation(summary = "List books (search by title/author/isbn)")
+    @Operation(summary = "Register many copies at once (max 5000); returns a result per item, rejected items don't block the rest")
+    @PostMapping("/bulk")
+    public BulkBookCreateResponse bulkCreate(@Valid @RequestBody BulkBookCreateRequest request) {
+        return ingest.ingest(request.items());
+    }
+
+    @Operation(summary = "List books (search by title/author/isbn; sort=relevance ranks matches)")
     @PageSizeLimit(max = 50)
     @GetMapping
     public PageResponse<BookResponse> list(
@@ -44,4 +65,48 @@ public class BookController {
         Page<BookResponse> page = service.list(search, pageable);
         return Paging.toResponse(page, pageable);
     }
+
+    @Operation(summary = "List books without totals (skips the count query; use hasNext)")
+    @PageSizeLimit(max = 50)
+    @GetMapping("/slice")
+    public SliceResponse<BookResponse> slice(
+            @RequestParam(required = false, name = "search") String search,
+            @ParameterObject
+            @PageableDefault(size = 20)
+            @SortDefault(sort = "catalog.title")
+            Pageable pageable
+    ) {
+        return Paging.toSliceResponse(service.slice(search, pageable), pageable);
+    }
+
+    @Operation(summary = "List books with cursor paging (ordered by title; pass nextCursor as 'after')")
+    @PageSizeLimit(max = 50)
+    @GetMapping("/cursor")
+    public CursorResponse<BookResponse> scroll(
+            @RequestParam(required = false, name = "search") String search,
+            @RequestParam(required = false, name = "after") String after,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        return service.scroll(search, after, size);
+    }
+
+    @Operation(summary = "Type-ahead suggestions: distinct titles/authors with a word starting with prefix (max 20)")
+    @GetMapping("/suggest")
+    public List<BookSuggestion> suggest(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return service.suggest(prefix, limit);
+    }
+
+    @Operation(summary = "Stream every copy as NDJSON (default) or CSV in one response; no paging, constant server memory")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "format", defaultValue = "ndjson") BookExportService.Format format
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books." + format.getExtension() + "\"")
+                .body(out -> exporter.export(format, out));
+    }
 }
@@ -1,7 +1,11 @@
 package com.collabera.libraryapi.web.controller;
 
+import com.collabera.libraryapi.aop.annotations.PageSizeLimit;
+import com.collabera.libraryapi.core.util.CursorResponse;
 import com.collabera.libraryapi.domain.dto.borrower.BorrowerCreateRequest;
 import com.collabera.libraryapi.domain.dto.borrower.BorrowerResponse;
+import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
+import com.collabera.libraryapi.domain.dto.loan.LoanStatus;
 import com.collabera.libraryapi.service.BorrowerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,6 +14,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 @Tag(name = "Borrowers")
 @RestController
 @RequestMapping("/api/v1/borrowers")
@@ -23,4 +29,16 @@ public class BorrowerController {
     public BorrowerResponse register(@Valid @RequestBody BorrowerCreateRequest request) {
         return service.register(request);
     }
+
+    @Operation(summary = "A borrower's loans, newest first, with cursor paging (status=active|returned; pass nextCursor as 'after')")
+    @PageSizeLimit(max = 50)
+    @GetMapping("/{id}/loans")
+    public CursorResponse<LoanResponse> loans(
+            @PathVariable UUID id,
+            @RequestParam(required = false, name = "status") LoanStatus status,
+            @RequestParam(required = false, name = "after") String after,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        return service.loans(id, status, after, size);
+    }
 }
@@ -0,0 +1,42 @@
+package com.collabera.libraryapi.web.controller;
+
+import com.collabera.libraryapi.aop.annotations.PageSizeLimit;
+import com.collabera.libraryapi.core.util.PageResponse;
+import com.collabera.libraryapi.core.util.Paging;
+import com.collabera.libraryapi.domain.dto.catalog.CatalogResponse;
+import com.collabera.libraryapi.service.CatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Catalog")
+@RestController
+@RequestMapping("/api/v1/catalog")
+@RequiredArgsConstructor
+public class CatalogController {
+    private final CatalogService service;
+
+    @Operation(summary = "List catalog entries with total/available copy counts (available=true hides fully borrowed ISBNs)")
+    @PageSizeLimit(max = 50)
+    @GetMapping
+    public PageResponse<CatalogResponse> list(
+            @RequestParam(name = "available", defaultValue = "false") boolean available,
+            @ParameterObject
+            @PageableDefault(size = 20)
+            @SortDefault(sort = "title")
+            Pageable pageable
+    ) {
+        return Paging.toResponse(service.list(available, pageable), pageable);
+    }
+
+    @Operation(summary = "Copy counts for one ISBN")
+    @GetMapping("/{isbn}")
+    public CatalogResponse get(@PathVariable String isbn) {
+        return service.get(isbn);
+    }
+}
@@ -0,0 +1,45 @@
+package com.collabera.libraryapi.web.controller;
+
+import com.collabera.libraryapi.domain.dto.hold.HoldCreateRequest;
+import com.collabera.libraryapi.domain.dto.hold.HoldResponse;
+import com.collabera.libraryapi.service.HoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Tag(name = "Holds")
+@RestController
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+public class HoldController {
+    static final int MAX_WAIT_SECONDS = 60;
+
+    private final HoldService service;
+
+    @Operation(summary = "Join the FIFO waitlist of a title whose copies are all borrowed; a returned copy is lent to the oldest hold")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public HoldResponse place(@Valid @RequestBody HoldCreateRequest request) {
+        return service.place(request);
+    }
+
+    @Operation(summary = "Hold status and queue position; wait=N long-polls up to N seconds (max 60) until it is no longer WAITING")
+    @GetMapping("/{id}")
+    public DeferredResult<HoldResponse> get(@PathVariable UUID id,
+                                            @RequestParam(name = "wait", defaultValue = "0") int wait) {
+        return service.await(id, Duration.ofSeconds(Math.max(0, Math.min(wait, MAX_WAIT_SECONDS))));
+    }
+
+    @Operation(summary = "Leave the waitlist")
+    @DeleteMapping("/{id}")
+    public HoldResponse cancel(@PathVariable UUID id) {
+        return service.cancel(id);
+    }
+}
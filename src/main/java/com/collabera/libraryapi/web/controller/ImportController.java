@@ -0,0 +1,39 @@
+package com.collabera.libraryapi.web.controller;
+
+import com.collabera.libraryapi.domain.dto.imports.ImportJobResponse;
+import com.collabera.libraryapi.service.BookExportService.Format;
+import com.collabera.libraryapi.service.imports.CatalogImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.UUID;
+
+@Tag(name = "Imports")
+@RestController
+@RequestMapping("/api/v1/imports")
+@RequiredArgsConstructor
+public class ImportController {
+    private final CatalogImportService service;
+
+    @Operation(summary = "Start a background import of a CSV (header isbn,title,author) or NDJSON file; poll the Location for progress")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobResponse> start(@RequestParam("file") MultipartFile file,
+                                                   @RequestParam(name = "format", defaultValue = "csv") Format format) {
+        ImportJobResponse job = service.start(file, format);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.id()).toUri())
+                .body(job);
+    }
+
+    @Operation(summary = "Progress, counts and the first rejected rows of an import")
+    @GetMapping("/{id}")
+    public ImportJobResponse status(@PathVariable UUID id) {
+        return service.status(id);
+    }
+}
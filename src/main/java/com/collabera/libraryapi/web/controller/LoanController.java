@@ -1,5 +1,6 @@
 package com.collabera.libraryapi.web.controller;
 
+import com.collabera.libraryapi.domain.dto.loan.CheckoutRequest;
 import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
 import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
 import com.collabera.libraryapi.service.LoanService;
@@ -10,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "Loans")
 @RestController
 @RequestMapping("/api/v1/loans")
@@ -24,6 +27,13 @@ public class LoanController {
         return service.borrow(request);
     }
 
+    @Operation(summary = "Borrow several books in one transaction (all or none)")
+    @PostMapping("/checkout")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<LoanResponse> checkout(@Valid @RequestBody CheckoutRequest request) {
+        return service.checkout(request);
+    }
+
     @Operation(summary = "Return a borrowed book")
     @PostMapping("/return")
     @ResponseStatus(HttpStatus.OK)
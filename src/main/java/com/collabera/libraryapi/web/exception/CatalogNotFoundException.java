@@ -0,0 +1,5 @@
+package com.collabera.libraryapi.web.exception;
+
+public class CatalogNotFoundException extends RuntimeException {
+    public CatalogNotFoundException(String isbn) { super("Catalog not found: " + isbn); }
+}
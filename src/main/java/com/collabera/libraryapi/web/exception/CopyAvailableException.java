@@ -0,0 +1,7 @@
+package com.collabera.libraryapi.web.exception;
+
+public class CopyAvailableException extends RuntimeException {
+    public CopyAvailableException(String isbn) {
+        super("A copy of " + isbn + " is available; borrow it instead of placing a hold");
+    }
+}
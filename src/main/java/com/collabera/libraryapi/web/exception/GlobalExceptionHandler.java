@@ -7,6 +7,7 @@ import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.Locale;
@@ -28,6 +29,11 @@ public class GlobalExceptionHandler {
         return notFound(BOOK_NOT_FOUND, ex.getMessage(), req);
     }
 
+    @ExceptionHandler(CatalogNotFoundException.class)
+    public ResponseEntity<ApiError> catalogNotFound(CatalogNotFoundException ex, HttpServletRequest req) {
+        return notFound(CATALOG_NOT_FOUND, ex.getMessage(), req);
+    }
+
     @ExceptionHandler(BookAlreadyBorrowedException.class)
     public ResponseEntity<ApiError> borrowed(BookAlreadyBorrowedException ex, HttpServletRequest req) {
         return conflict(BOOK_ALREADY_BORROWED, ex.getMessage(), req);
@@ -38,6 +44,26 @@ public class GlobalExceptionHandler {
         return notFound(ACTIVE_LOAN_NOT_FOUND, ex.getMessage(), req);
     }
 
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<ApiError> holdNotFound(HoldNotFoundException ex, HttpServletRequest req) {
+        return notFound(HOLD_NOT_FOUND, ex.getMessage(), req);
+    }
+
+    @ExceptionHandler(HoldAlreadyPlacedException.class)
+    public ResponseEntity<ApiError> holdPlaced(HoldAlreadyPlacedException ex, HttpServletRequest req) {
+        return conflict(HOLD_ALREADY_PLACED, ex.getMessage(), req);
+    }
+
+    @ExceptionHandler(HoldNotWaitingException.class)
+    public ResponseEntity<ApiError> holdNotWaiting(HoldNotWaitingException ex, HttpServletRequest req) {
+        return conflict(HOLD_NOT_WAITING, ex.getMessage(), req);
+    }
+
+    @ExceptionHandler(CopyAvailableException.class)
+    public ResponseEntity<ApiError> copyAvailable(CopyAvailableException ex, HttpServletRequest req) {
+        return conflict(COPY_AVAILABLE, ex.getMessage(), req);
+    }
+
     @ExceptionHandler(OptimisticLockingFailureException.class)
     public ResponseEntity<ApiError> optimistic(OptimisticLockingFailureException ex, HttpServletRequest req) {
         return conflict(CONCURRENT_MODIFICATION, "Concurrent update detected. Retry the operation.", req);
@@ -58,6 +84,27 @@ public class GlobalExceptionHandler {
         return badRequest(PAGE_SIZE_LIMIT, ex.getMessage(), req);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> invalidCursor(InvalidCursorException ex, HttpServletRequest req) {
+        return badRequest(INVALID_CURSOR, ex.getMessage(), req);
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ApiError> importNotFound(ImportJobNotFoundException ex, HttpServletRequest req) {
+        return notFound(IMPORT_NOT_FOUND, ex.getMessage(), req);
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ApiError> invalidImportFile(InvalidImportFileException ex, HttpServletRequest req) {
+        return badRequest(INVALID_IMPORT_FILE, ex.getMessage(), req);
+    }
+
+    @ExceptionHandler(ImportCapacityExceededException.class)
+    public ResponseEntity<ApiError> tooManyImports(ImportCapacityExceededException ex, HttpServletRequest req) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(ApiError.of(TOO_MANY_IMPORTS, ex.getMessage(), req.getRequestURI()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> validation(MethodArgumentNotValidException ex, HttpServletRequest req) {
         String msg = ex.getBindingResult().getFieldErrors().stream()
@@ -66,6 +113,11 @@ public class GlobalExceptionHandler {
     return badRequest(VALIDATION_ERROR, msg, req);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> typeMismatch(MethodArgumentTypeMismatchException ex, HttpServletRequest req) {
+        return badRequest(VALIDATION_ERROR, ex.getName() + ": invalid value '" + ex.getValue() + "'", req);
+    }
+
     /**
      * Map DB unique/foreign key errors by named constraints for clean messages.
      */
@@ -78,7 +130,7 @@ public class GlobalExceptionHandler {
         if (cause.contains(UK_BORROWERS_EMAIL)) {
             code = EMAIL_ALREADY_EXISTS;
             message = "Email already exists";
-        } else if (cause.contains(UK_BOOK_CATALOG_ISBN)) {
+        } else if (cause.contains(PK_BOOK_CATALOG)) {
             code = ISBN_ALREADY_EXISTS;
             message = "ISBN already exists";
         } else if (cause.contains(UQ_LOANS_BOOK_ACTIVE)) {
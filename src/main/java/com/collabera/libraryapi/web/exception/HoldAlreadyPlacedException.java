@@ -0,0 +1,9 @@
+package com.collabera.libraryapi.web.exception;
+
+import java.util.UUID;
+
+public class HoldAlreadyPlacedException extends RuntimeException {
+    public HoldAlreadyPlacedException(UUID borrowerId, String isbn) {
+        super("Borrower " + borrowerId + " is already waiting for " + isbn);
+    }
+}
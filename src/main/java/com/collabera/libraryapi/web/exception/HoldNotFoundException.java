@@ -0,0 +1,9 @@
+package com.collabera.libraryapi.web.exception;
+
+import java.util.UUID;
+
+public class HoldNotFoundException extends RuntimeException {
+    public HoldNotFoundException(UUID id) {
+        super("Hold not found: " + id);
+    }
+}
@@ -0,0 +1,9 @@
+package com.collabera.libraryapi.web.exception;
+
+import java.util.UUID;
+
+public class HoldNotWaitingException extends RuntimeException {
+    public HoldNotWaitingException(UUID id) {
+        super("Hold is no longer waiting: " + id);
+    }
+}
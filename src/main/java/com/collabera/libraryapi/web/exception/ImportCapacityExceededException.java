@@ -0,0 +1,7 @@
+package com.collabera.libraryapi.web.exception;
+
+public class ImportCapacityExceededException extends RuntimeException {
+    public ImportCapacityExceededException(int running) {
+        super(running + " imports are already running. Retry when one has finished.");
+    }
+}
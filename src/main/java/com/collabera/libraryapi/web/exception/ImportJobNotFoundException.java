@@ -0,0 +1,7 @@
+package com.collabera.libraryapi.web.exception;
+
+import java.util.UUID;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(UUID id) { super("Import job not found: " + id); }
+}
@@ -0,0 +1,5 @@
+package com.collabera.libraryapi.web.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() { super("Invalid or expired cursor"); }
+}
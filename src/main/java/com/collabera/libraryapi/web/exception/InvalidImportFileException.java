@@ -0,0 +1,5 @@
+package com.collabera.libraryapi.web.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) { super(message); }
+}
@@ -0,0 +1,103 @@
+package db.migration;
+
+import com.collabera.libraryapi.core.util.Isbn;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Catalog keys become the 13-digit ISBN. Earlier versions stored whatever was left after stripping
+ * spaces and hyphens, so an ISBN-10 (or a labelled {@code ISBN13:...}) and its ISBN-13 could be two
+ * catalogs. Each such row is re-keyed, with its copies moved along; when the ISBN-13 row already
+ * exists with the same title and author the two are merged, counters added. A key that is not a valid
+ * ISBN, or whose ISBN-13 twin disagrees on title/author, cannot be converted; the migration then fails
+ * listing every such key and rolls back, so V6's cast to BIGINT never meets one. Fix or delete those
+ * rows and start the application again.
+ * <p>
+ * Java rather than SQL because the check-digit conversion is shared with the application
+ * ({@link Isbn}) and runs on both H2 and PostgreSQL.
+ */
+@Slf4j
+public class V5__Isbn13CatalogKeys extends BaseJavaMigration {
+    private static final int LISTED = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "select isbn, title, author, total_copies, available_copies from book_catalog");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                String key = rs.getString(1);
+                // Already the 13 digits of a valid ISBN-13
+                if (Isbn.tryParse(key).map(Isbn::toString).filter(key::equals).isPresent()) continue;
+                rows.add(new Row(key, rs.getString(2), rs.getString(3), rs.getInt(4), rs.getInt(5)));
+            }
+        }
+        List<String> offending = new ArrayList<>();
+        for (Row row : rows) {
+            Optional<Isbn> isbn = Isbn.tryParse(row.isbn());
+            if (isbn.isEmpty()) {
+                offending.add(row.isbn() + " (not a valid ISBN)");
+            } else if (!rekey(connection, row, isbn.get().toString())) {
+                offending.add(row.isbn() + " (" + isbn.get() + " has a different title/author)");
+            }
+        }
+        if (!offending.isEmpty()) {
+            String listed = String.join(", ", offending.subList(0, Math.min(LISTED, offending.size())));
+            throw new FlywayException(offending.size() + " catalog key(s) cannot become an ISBN-13; fix or delete them and retry: "
+                    + listed + (offending.size() > LISTED ? ", ..." : ""));
+        }
+    }
+
+    /** Moves {@code row} to {@code key}; false, changing nothing, when {@code key} holds another book. */
+    private static boolean rekey(Connection connection, Row row, String key) throws SQLException {
+        Optional<Row> twin = find(connection, key);
+        if (twin.isEmpty()) {
+            update(connection, """
+                    insert into book_catalog (isbn, title, author, created_at, updated_at, created_by, updated_by,
+                                              total_copies, available_copies)
+                    select ?, title, author, created_at, updated_at, created_by, updated_by, total_copies, available_copies
+                    from book_catalog where isbn = ?""", key, row.isbn());
+        } else if (twin.get().title().equals(row.title()) && twin.get().author().equals(row.author())) {
+            update(connection, "update book_catalog set total_copies = total_copies + ?, available_copies = available_copies + ? where isbn = ?",
+                    row.totalCopies(), row.availableCopies(), key);
+        } else {
+            return false;
+        }
+        update(connection, "update books set catalog_isbn = ? where catalog_isbn = ?", key, row.isbn());
+        update(connection, "delete from book_catalog where isbn = ?", row.isbn());
+        log.info("Catalog {} re-keyed to {}", row.isbn(), key);
+        return true;
+    }
+
+    private static Optional<Row> find(Connection connection, String isbn) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "select isbn, title, author, total_copies, available_copies from book_catalog where isbn = ?")) {
+            ps.setString(1, isbn);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return Optional.empty();
+                return Optional.of(new Row(rs.getString(1), rs.getString(2), rs.getString(3), rs.getInt(4), rs.getInt(5)));
+            }
+        }
+    }
+
+    private static void update(Connection connection, String sql, Object... args) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) ps.setObject(i + 1, args[i]);
+            ps.executeUpdate();
+        }
+    }
+
+    private record Row(String isbn, String title, String author, int totalCopies, int availableCopies) {}
+}
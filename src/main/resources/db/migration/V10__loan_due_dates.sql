@@ -0,0 +1,20 @@
+-- Loans fall due a fixed period after they are borrowed (library.loans.period). Open loans get the
+-- default 14 days; loans returned before due dates existed keep none, so the backfill touches only
+-- the books currently out instead of rewriting the whole history. overdue_at is set once, by the
+-- overdue scan.
+ALTER TABLE loans ADD COLUMN due_at TIMESTAMP;
+ALTER TABLE loans ADD COLUMN overdue_at TIMESTAMP;
+UPDATE loans SET due_at = borrowed_at + INTERVAL '14' DAY WHERE returned_at IS NULL;
+ALTER TABLE loans ADD CONSTRAINT ck_loans_due_open CHECK (due_at IS NOT NULL OR returned_at IS NOT NULL);
+ALTER TABLE loans ADD CONSTRAINT ck_loans_due CHECK (due_at IS NULL OR due_at >= borrowed_at);
+
+-- Time-bounded leases so that a scheduled job runs on one instance at a time: the instance whose
+-- conditional update of the row succeeds owns the job until expires_at.
+CREATE TABLE scheduler_leases (
+    name       VARCHAR(64)  NOT NULL,
+    owner      VARCHAR(128),
+    expires_at TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_scheduler_leases PRIMARY KEY (name)
+);
+
+INSERT INTO scheduler_leases (name, owner, expires_at) VALUES ('overdue-scan', NULL, TIMESTAMP '1970-01-01 00:00:00');
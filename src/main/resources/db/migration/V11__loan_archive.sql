@@ -0,0 +1,6 @@
+-- Returned loans older than library.archive.after move to loans_archive (created per vendor, along
+-- with the loan_history view that borrower history reads both tables through). A fulfilled hold
+-- keeps the id of the loan it turned into, and that loan may now be archived, so the foreign key goes.
+ALTER TABLE holds DROP CONSTRAINT fk_holds_loan;
+
+INSERT INTO scheduler_leases (name, owner, expires_at) VALUES ('loan-archive', NULL, TIMESTAMP '1970-01-01 00:00:00');
@@ -0,0 +1,12 @@
+-- Per-ISBN copy counters, maintained by the application alongside inserts into books
+-- and borrow/return flips, so availability is read from the catalog row instead of a
+-- GROUP BY over books.
+ALTER TABLE book_catalog ADD COLUMN total_copies INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE book_catalog ADD COLUMN available_copies INTEGER NOT NULL DEFAULT 0;
+
+UPDATE book_catalog c SET
+    total_copies     = (SELECT COUNT(*) FROM books b WHERE b.catalog_isbn = c.isbn),
+    available_copies = (SELECT COUNT(*) FROM books b WHERE b.catalog_isbn = c.isbn AND b.borrowed = FALSE);
+
+ALTER TABLE book_catalog
+    ADD CONSTRAINT ck_book_catalog_copies CHECK (available_copies >= 0 AND available_copies <= total_copies);
@@ -0,0 +1,15 @@
+-- Catalog keys become the ISBN-13 as a BIGINT (8 bytes, compared as an integer) instead of
+-- VARCHAR(32), in book_catalog and in the books.catalog_isbn foreign key. V5 already rewrote
+-- every valid key to its 13 digits; a key it had to leave (not an ISBN, or an ISBN-10 whose
+-- ISBN-13 row disagrees) fails the cast or ck_book_catalog_isbn13 here and must be fixed first.
+ALTER TABLE books DROP CONSTRAINT fk_books_catalog;
+-- Duplicated the primary key index
+ALTER TABLE book_catalog DROP CONSTRAINT uk_book_catalog_isbn;
+
+ALTER TABLE book_catalog ALTER COLUMN isbn TYPE BIGINT USING CAST(isbn AS BIGINT);
+ALTER TABLE books ALTER COLUMN catalog_isbn TYPE BIGINT USING CAST(catalog_isbn AS BIGINT);
+
+ALTER TABLE book_catalog
+    ADD CONSTRAINT ck_book_catalog_isbn13 CHECK (isbn BETWEEN 9780000000000 AND 9799999999999);
+ALTER TABLE books
+    ADD CONSTRAINT fk_books_catalog FOREIGN KEY (catalog_isbn) REFERENCES book_catalog(isbn) ON DELETE RESTRICT;
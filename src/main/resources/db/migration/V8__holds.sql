@@ -0,0 +1,32 @@
+-- Reservation holds: a FIFO waitlist per ISBN. Ids are time-ordered UUIDv7, so the oldest
+-- waiting hold of an ISBN is the first entry of idx_holds_queue for (isbn, 'WAITING').
+CREATE TABLE holds (
+    id           UUID        NOT NULL,
+    catalog_isbn BIGINT      NOT NULL,
+    borrower_id  UUID        NOT NULL,
+    status       VARCHAR(16) NOT NULL,
+    loan_id      UUID,
+    fulfilled_at TIMESTAMP,
+    created_at   TIMESTAMP   NOT NULL DEFAULT now(),
+    updated_at   TIMESTAMP   NOT NULL DEFAULT now(),
+    created_by   TEXT        NOT NULL DEFAULT 'system',
+    updated_by   TEXT        NOT NULL DEFAULT 'system',
+    CONSTRAINT pk_holds PRIMARY KEY (id),
+    CONSTRAINT fk_holds_catalog
+        FOREIGN KEY (catalog_isbn)
+        REFERENCES book_catalog(isbn)
+        ON DELETE RESTRICT,
+    CONSTRAINT fk_holds_borrower
+        FOREIGN KEY (borrower_id)
+        REFERENCES borrowers(id)
+        ON DELETE RESTRICT,
+    CONSTRAINT fk_holds_loan
+        FOREIGN KEY (loan_id)
+        REFERENCES loans(id)
+        ON DELETE RESTRICT,
+    CONSTRAINT ck_holds_status CHECK (status IN ('WAITING', 'FULFILLED', 'CANCELLED')),
+    CONSTRAINT ck_holds_fulfilled CHECK ((status = 'FULFILLED') = (loan_id IS NOT NULL))
+);
+
+CREATE INDEX idx_holds_queue    ON holds(catalog_isbn, status, id);
+CREATE INDEX idx_holds_borrower ON holds(borrower_id);
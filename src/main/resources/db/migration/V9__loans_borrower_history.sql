@@ -0,0 +1,4 @@
+-- A borrower's loan history, newest first, as keyset pages over (borrowed_at, id). returned_at is
+-- a trailing key column so the active/returned filter is answered from the index too: a page's loan
+-- ids come from an index-only scan, whatever the share of the history the filter skips.
+CREATE INDEX idx_loans_borrower_history ON loans (borrower_id, borrowed_at DESC, id DESC, returned_at);
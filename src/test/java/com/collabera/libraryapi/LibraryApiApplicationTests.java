@@ -1,15 +1,34 @@
 package com.collabera.libraryapi;
 
+import com.collabera.libraryapi.domain.entity.Borrower;
+import com.collabera.libraryapi.domain.repository.BorrowerRepository;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @ActiveProfiles("test")
 class LibraryApiApplicationTests {
 
+	@Autowired
+	private BorrowerRepository borrowers;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void entityIdsAreTimeOrdered() {
+		UUID first = borrowers.save(Borrower.builder().name("First").email("first.v7@example.com").build()).getId();
+		UUID second = borrowers.save(Borrower.builder().name("Second").email("second.v7@example.com").build()).getId();
+
+		assertThat(first.version()).isEqualTo(7);
+		assertThat(second).isGreaterThan(first);
+	}
+
 }
@@ -0,0 +1,40 @@
+package com.collabera.libraryapi;
+
+import com.collabera.libraryapi.core.util.Isbn;
+import com.collabera.libraryapi.domain.dto.borrower.BorrowerCreateRequest;
+import com.collabera.libraryapi.service.BorrowerService;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Data for tests that write to a shared database: ISBNs no other test has used and freshly
+ * registered borrowers, so tests never see each other's catalogs or loans whatever order they run in.
+ */
+public final class TestFixtures {
+    /**
+     * First 12 digits of the next ISBN; one sequence for the whole test run, starting clear of the
+     * fixed {@code 978100000000x} ISBNs the contract and search tests use.
+     */
+    private static final AtomicLong NEXT_ISBN = new AtomicLong(978_100_100_000L);
+
+    private TestFixtures() {
+    }
+
+    /** An ISBN-13 (digits only) not handed out before in this run. */
+    public static String isbn() {
+        long first12 = NEXT_ISBN.getAndIncrement();
+        return IntStream.rangeClosed(0, 9)
+                .mapToObj(check -> Long.toString(first12 * 10 + check))
+                .filter(Isbn::isValid)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /** A newly registered borrower with a unique name and email. */
+    public static UUID borrower(BorrowerService borrowers) {
+        UUID tag = UUID.randomUUID();
+        return borrowers.register(new BorrowerCreateRequest("Reader " + tag, tag + "@example.com")).id();
+    }
+}
@@ -0,0 +1,110 @@
+package com.collabera.libraryapi.benchmark;
+
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.entity.Book;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import com.collabera.libraryapi.mapper.BookMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-page cost of the entity + MapStruct listing path versus the {@link BookResponse} projection.
+ * Opt-in: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookListingBenchmarkTest {
+    private static final int CATALOGS = 1_000;
+    private static final int COPIES = 5;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = CATALOGS * COPIES / PAGE_SIZE;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    private BookRepository books;
+    @Autowired
+    private BookMapper mapper;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManager em;
+
+    private final Specification<Book> all = BookRepository.bySearch(null);
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> catalogs = new ArrayList<>();
+        List<Object[]> copies = new ArrayList<>();
+        for (int i = 0; i < CATALOGS; i++) {
+            long isbn = 9789990000000L + i;
+            catalogs.add(new Object[]{isbn, "Benchmark Title " + i, "Author " + (i % 97)});
+            for (int c = 0; c < COPIES; c++) copies.add(new Object[]{UUID.randomUUID(), isbn});
+        }
+        jdbc.batchUpdate("insert into book_catalog (isbn, title, author) values (?, ?, ?)", catalogs);
+        jdbc.batchUpdate("insert into books (id, catalog_isbn) values (?, ?)", copies);
+    }
+
+    @Test
+    void projectionAllocatesLessPerPageThanEntityMapping() {
+        Result entities = measure("entity + mapper", page -> entitySlice(page).stream().map(mapper::toResponse).toList());
+        Result projection = measure("projection", page -> books.findResponseSlice(all, page).getContent());
+
+        System.out.printf("%-16s %12s %12s%n", "path", "bytes/page", "us/page");
+        for (Result r : List.of(entities, projection)) {
+            System.out.printf("%-16s %12d %12.1f%n", r.name(), r.bytesPerPage(), r.microsPerPage());
+        }
+        assertThat(projection.bytesPerPage()).isLessThan(entities.bytesPerPage());
+    }
+
+    private Result measure(String name, Function<Pageable, List<BookResponse>> listing) {
+        for (int i = 0; i < WARMUP; i++) assertThat(listing.apply(page(i))).hasSize(PAGE_SIZE);
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) listing.apply(page(i));
+        long nanos = System.nanoTime() - start;
+        bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+        return new Result(name, bytes / ITERATIONS, nanos / 1_000.0 / ITERATIONS);
+    }
+
+    /**
+     * The listing as it was before the projection: the page's copies as managed entities with their
+     * catalogs fetched in the same select (one extra row for {@code hasNext}), then mapped.
+     */
+    private List<Book> entitySlice(Pageable page) {
+        List<Book> rows = em.createQuery("select b from Book b join fetch b.catalog c order by c.title, b.id", Book.class)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize() + 1)
+                .getResultList();
+        return rows.subList(0, Math.min(rows.size(), page.getPageSize()));
+    }
+
+    private static Pageable page(int i) {
+        return PageRequest.of(i % PAGES, PAGE_SIZE, Sort.by("catalog.title", "id"));
+    }
+
+    private record Result(String name, long bytesPerPage, double microsPerPage) {}
+}
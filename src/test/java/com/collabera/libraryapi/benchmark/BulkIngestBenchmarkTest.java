@@ -0,0 +1,63 @@
+package com.collabera.libraryapi.benchmark;
+
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.service.BookIngestService;
+import com.collabera.libraryapi.service.BookService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.collabera.libraryapi.TestFixtures.isbn;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Copies per second through {@code POST /api/v1/books} one item at a time versus one
+ * {@code POST /api/v1/books/bulk} call. Opt-in: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkIngestBenchmarkTest {
+    private static final int ITEMS = 2_000;
+    private static final int COPIES_PER_ISBN = 4;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Autowired
+    private BookService books;
+    @Autowired
+    private BookIngestService ingest;
+
+    @Test
+    void bulkIngestOutpacesSingleCreates() {
+        double single = measure("single", items -> items.forEach(books::create));
+        double bulk = measure("bulk", items -> assertThat(ingest.ingest(items).created()).isEqualTo(ITEMS));
+
+        System.out.printf("%-8s %12.0f copies/s%n%-8s %12.0f copies/s%n", "single", single, "bulk", bulk);
+        assertThat(bulk).isGreaterThan(single);
+    }
+
+    private double measure(String name, Consumer<List<BookCreateRequest>> path) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) path.accept(items());
+        List<BookCreateRequest> items = items();
+        long start = System.nanoTime();
+        path.accept(items);
+        return ITEMS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /** Fresh ISBNs per round so every round creates new catalogs as well as copies. */
+    private List<BookCreateRequest> items() {
+        List<BookCreateRequest> items = new ArrayList<>(ITEMS);
+        String isbn = null;
+        for (int i = 0; i < ITEMS; i++) {
+            if (i % COPIES_PER_ISBN == 0) isbn = isbn();
+            items.add(new BookCreateRequest(isbn, "Bulk Title " + isbn, "Author " + i / COPIES_PER_ISBN % 13));
+        }
+        return items;
+    }
+}
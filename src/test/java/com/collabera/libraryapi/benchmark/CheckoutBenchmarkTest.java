@@ -0,0 +1,85 @@
+package com.collabera.libraryapi.benchmark;
+
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.book.BulkItemResult;
+import com.collabera.libraryapi.domain.dto.loan.CheckoutRequest;
+import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
+import com.collabera.libraryapi.service.BookIngestService;
+import com.collabera.libraryapi.service.BorrowerService;
+import com.collabera.libraryapi.service.LoanService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static com.collabera.libraryapi.TestFixtures.borrower;
+import static com.collabera.libraryapi.TestFixtures.isbn;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Books borrowed per second for one borrower taking {@value #BOOKS} copies through {@value #BOOKS}
+ * {@code POST /api/v1/loans} calls versus one {@code POST /api/v1/loans/checkout} call. Runs on H2 by
+ * default; {@code -Dbenchmark.profile=dev} runs it against PostgreSQL. Opt-in: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles(resolver = IdInsertBenchmarkTest.BenchmarkProfile.class)
+class CheckoutBenchmarkTest {
+    private static final int BOOKS = 20;
+    private static final int COPIES_PER_ISBN = 5;
+    private static final int ROUNDS = 200;
+    private static final int WARMUP_ROUNDS = 50;
+
+    @Autowired
+    private LoanService loans;
+    @Autowired
+    private BookIngestService ingest;
+    @Autowired
+    private BorrowerService borrowers;
+
+    @Test
+    void checkoutOutpacesSequentialBorrows() {
+        BiConsumer<UUID, List<UUID>> sequential = (borrower, books) ->
+                books.forEach(book -> loans.borrow(new LoanCreateRequest(book, borrower)));
+        BiConsumer<UUID, List<UUID>> checkout = (borrower, books) ->
+                assertThat(loans.checkout(new CheckoutRequest(borrower, books))).hasSize(BOOKS);
+
+        measure(sequential, WARMUP_ROUNDS);
+        measure(checkout, WARMUP_ROUNDS);
+        double single = measure(sequential, ROUNDS);
+        double batch = measure(checkout, ROUNDS);
+
+        System.out.printf("%-10s %10.0f books/s%n%-10s %10.0f books/s%n", "sequential", single, "checkout", batch);
+        assertThat(batch).isGreaterThan(single);
+    }
+
+    /** Books per second over {@code rounds} fresh borrowers, each taking {@value #BOOKS} fresh copies. */
+    private double measure(BiConsumer<UUID, List<UUID>> path, int rounds) {
+        List<UUID> borrowerIds = new ArrayList<>(rounds);
+        List<List<UUID>> bookIds = new ArrayList<>(rounds);
+        for (int r = 0; r < rounds; r++) {
+            borrowerIds.add(borrower(borrowers));
+            bookIds.add(copies());
+        }
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) path.accept(borrowerIds.get(r), bookIds.get(r));
+        return (double) rounds * BOOKS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /** Copies spread over a few catalogs, so checkout adjusts several availability counters. */
+    private List<UUID> copies() {
+        List<BookCreateRequest> items = new ArrayList<>(BOOKS);
+        String isbn = null;
+        for (int i = 0; i < BOOKS; i++) {
+            if (i % COPIES_PER_ISBN == 0) isbn = isbn();
+            items.add(new BookCreateRequest(isbn, "Checkout Title " + isbn, "Author " + i / COPIES_PER_ISBN % 13));
+        }
+        return ingest.ingest(items).items().stream().map(BulkItemResult::id).toList();
+    }
+}
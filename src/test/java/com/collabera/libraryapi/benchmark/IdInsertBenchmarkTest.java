@@ -0,0 +1,97 @@
+package com.collabera.libraryapi.benchmark;
+
+import com.collabera.libraryapi.core.util.Uuids;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput into a UUID primary key with random (v4) versus time-ordered (v7) ids, as the
+ * table grows. Runs on H2 by default; {@code -Dbenchmark.profile=dev} runs it against PostgreSQL
+ * (connection from the {@code DB_*} variables), where the primary key index size is reported too.
+ * Opt-in: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles(resolver = IdInsertBenchmarkTest.BenchmarkProfile.class)
+class IdInsertBenchmarkTest {
+    private static final int ROWS = 300_000;
+    private static final int BATCH = 1_000;
+    /** Rows inserted before the measured tail, so the index is already large when timing starts. */
+    private static final int WARM_ROWS = ROWS * 2 / 3;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void timeOrderedIdsInsertFasterThanRandom() {
+        List<Result> results = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            results.add(measure("v4", UUID::randomUUID));
+            results.add(measure("v7", Uuids::v7));
+        }
+
+        System.out.printf("%-4s %12s %12s %14s%n", "ids", "rows/s", "tail rows/s", "pk bytes");
+        results.forEach(r -> System.out.printf("%-4s %12.0f %12.0f %14s%n",
+                r.name(), r.rowsPerSecond(), r.tailRowsPerSecond(), r.indexBytes() < 0 ? "-" : r.indexBytes()));
+        assertThat(best(results, "v7")).isGreaterThan(best(results, "v4"));
+    }
+
+    private Result measure(String name, Supplier<UUID> ids) {
+        String table = "id_bench_" + name;
+        jdbc.execute("drop table if exists " + table);
+        jdbc.execute("create table " + table + " (id uuid not null, created_at timestamp not null, "
+                + "constraint pk_" + table + " primary key (id))");
+        try {
+            long start = System.nanoTime();
+            long tailStart = start;
+            for (int done = 0; done < ROWS; done += BATCH) {
+                if (done == WARM_ROWS) tailStart = System.nanoTime();
+                List<Object[]> rows = new ArrayList<>(BATCH);
+                Timestamp now = Timestamp.from(Instant.now());
+                for (int i = 0; i < BATCH; i++) rows.add(new Object[]{ids.get(), now});
+                jdbc.batchUpdate("insert into " + table + " (id, created_at) values (?, ?)", rows);
+            }
+            long end = System.nanoTime();
+            return new Result(name, ROWS / ((end - start) / 1e9), (ROWS - WARM_ROWS) / ((end - tailStart) / 1e9),
+                    indexBytes("pk_" + table));
+        } finally {
+            jdbc.execute("drop table " + table);
+        }
+    }
+
+    private long indexBytes(String index) {
+        String product = jdbc.execute((Connection c) -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) return -1;
+        Long bytes = jdbc.queryForObject("select pg_relation_size(cast(? as regclass))", Long.class, index);
+        return bytes == null ? -1 : bytes;
+    }
+
+    private static double best(List<Result> results, String name) {
+        return results.stream().filter(r -> r.name().equals(name)).mapToDouble(Result::tailRowsPerSecond).max().orElse(0);
+    }
+
+    private record Result(String name, double rowsPerSecond, double tailRowsPerSecond, long indexBytes) {}
+
+    static class BenchmarkProfile implements ActiveProfilesResolver {
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            return new String[]{System.getProperty("benchmark.profile", "test")};
+        }
+    }
+}
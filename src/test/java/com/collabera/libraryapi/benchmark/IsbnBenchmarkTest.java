@@ -0,0 +1,57 @@
+package com.collabera.libraryapi.benchmark;
+
+import com.collabera.libraryapi.core.util.Isbn;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-ISBN cost of the old {@code @Pattern} + {@code replaceAll} normalization versus the single-pass
+ * {@link Isbn} parser, on the inputs the create and bulk paths see. Opt-in: {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class IsbnBenchmarkTest {
+    private static final Pattern OLD_FORMAT = Pattern.compile(
+            "^(?:ISBN(?:-1[03])?:? )?(?=[-0-9Xx ]{10,17}$)(?:97[89][- ]?)?[0-9]{1,5}[- ]?[0-9]+[- ]?[0-9]+[- ]?[0-9Xx]$");
+    private static final String[] INPUTS = {
+            "9780134685991", "978-0-13-468599-1", "ISBN-13: 978-0-13-468599-1", "0134685997", "0-306-40615-2", "080442957X"
+    };
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void singlePassParserAllocatesLessThanRegexPath() {
+        Result regex = measure("regex", isbn -> OLD_FORMAT.matcher(isbn).matches()
+                ? isbn.replaceAll("[\\s-]", "").toUpperCase(Locale.ROOT) : null);
+        Result parser = measure("Isbn", isbn -> Isbn.isValid(isbn) ? Isbn.normalize(isbn) : null);
+
+        System.out.printf("%-8s %10s %10s%n", "path", "bytes/op", "ns/op");
+        for (Result r : List.of(regex, parser)) {
+            System.out.printf("%-8s %10d %10.1f%n", r.name(), r.bytesPerOp(), r.nanosPerOp());
+        }
+        assertThat(parser.bytesPerOp()).isLessThan(regex.bytesPerOp());
+    }
+
+    private static Result measure(String name, Function<String, String> normalize) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += normalize.apply(INPUTS[i % INPUTS.length]).length();
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) sink += normalize.apply(INPUTS[i % INPUTS.length]).length();
+        long nanos = System.nanoTime() - start;
+        bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+        assertThat(sink).isPositive();
+        return new Result(name, bytes / ITERATIONS, (double) nanos / ITERATIONS);
+    }
+
+    private record Result(String name, long bytesPerOp, double nanosPerOp) {}
+}
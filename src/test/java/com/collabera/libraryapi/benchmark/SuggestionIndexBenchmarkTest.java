@@ -0,0 +1,54 @@
+package com.collabera.libraryapi.benchmark;
+
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.service.search.SuggestionIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/** Type-ahead latency over 50k catalogs: every 1-4 character prefix a user could type. Opt-in: {@code mvn test -Pbenchmark}. */
+@Tag("benchmark")
+class SuggestionIndexBenchmarkTest {
+    private static final int CATALOGS = 50_000;
+    private static final int QUERIES = 200_000;
+
+    @Test
+    void p99StaysBelowOneMillisecond() {
+        Random random = new Random(42);
+        SuggestionIndex index = new SuggestionIndex(mock(BookCatalogRepository.class));
+        for (int i = 0; i < CATALOGS; i++) index.add(words(random, 2 + random.nextInt(4)), words(random, 2));
+
+        String[] prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) prefixes[i] = word(random).substring(0, 1 + random.nextInt(4));
+        for (int i = 0; i < QUERIES; i++) index.suggest(prefixes[i], 10);
+
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            index.suggest(prefixes[i], 10);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("keys=%d p50=%.1fus p99=%.1fus max=%.1fus%n", index.size(),
+                nanos[QUERIES / 2] / 1e3, nanos[QUERIES * 99 / 100] / 1e3, nanos[QUERIES - 1] / 1e3);
+        assertThat(nanos[QUERIES * 99 / 100]).isLessThan(1_000_000);
+    }
+
+    private static String words(Random random, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) sb.append(i == 0 ? "" : " ").append(word(random));
+        return sb.toString();
+    }
+
+    private static String word(Random random) {
+        char[] w = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < w.length; i++) w[i] = (char) ('a' + random.nextInt(26));
+        w[0] = Character.toUpperCase(w[0]);
+        return new String(w);
+    }
+}
@@ -0,0 +1,56 @@
+package com.collabera.libraryapi.core.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IsbnTest {
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(delimiter = '|', value = {
+            "9780134685991           | 9780134685991",
+            "978-0-13-468599-1       | 9780134685991",
+            "  978 0 13 468599 1     | 9780134685991",
+            "ISBN-13: 978-0-13-468599-1 | 9780134685991",
+            "ISBN13:9780134685991    | 9780134685991",
+            "0134685997              | 9780134685991",
+            "ISBN-10 0-13-468599-7   | 9780134685991",
+            "0-306-40615-2           | 9780306406157",
+            "080442957X              | 9780804429573",
+            "080442957x              | 9780804429573",
+            "9791090636071           | 9791090636071"
+    })
+    void normalizesToIsbn13(String text, String expected) {
+        assertThat(Isbn.isValid(text)).isTrue();
+        assertThat(Isbn.normalize(text)).isEqualTo(expected);
+        assertThat(Isbn.parse(text).ean()).isEqualTo(Long.parseLong(expected));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+            "", "BAD", "ISBN", "9780134685992", "0134685998", "9770134685994", "97801346859911",
+            "013468599", "X134685997", "01346859X7", "9780134685X91", "978O134685991", "978_0134685991"
+    })
+    void rejectsMalformedOrWrongCheckDigit(String text) {
+        assertThat(Isbn.isValid(text)).isFalse();
+        assertThat(Isbn.tryParse(text)).isEmpty();
+    }
+
+    @Test
+    void parseThrowsForInvalidText() {
+        assertThatThrownBy(() -> Isbn.parse("9780134685992")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void isbn10AndIsbn13SpellingsAreEqual() {
+        assertThat(Isbn.parse("0-13-468599-7")).isEqualTo(Isbn.parse("978-0-13-468599-1"))
+                .hasSameHashCodeAs(Isbn.parse("9780134685991"));
+        assertThat(Isbn.parse("9780134685991")).isLessThan(Isbn.parse("9791090636071"));
+    }
+}
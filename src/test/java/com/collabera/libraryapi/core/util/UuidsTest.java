@@ -0,0 +1,48 @@
+package com.collabera.libraryapi.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidsTest {
+
+    @Test
+    void setsVersionAndVariant() {
+        UUID id = Uuids.v7();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void carriesCreationTimeInTheTopBits() {
+        long before = System.currentTimeMillis();
+        UUID id = Uuids.v7();
+        long after = System.currentTimeMillis();
+
+        // The counter may push the timestamp ahead of the clock, but only under a burst
+        assertThat(Uuids.timestamp(id)).isBetween(Instant.ofEpochMilli(before), Instant.ofEpochMilli(after + 1_000));
+    }
+
+    @Test
+    void strictlyIncreasingWithinTheSameMillisecond() {
+        UUID previous = Uuids.v7();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = Uuids.v7();
+            assertThat(next).isGreaterThan(previous);
+            // Same order as PostgreSQL and H2 compare uuid values: unsigned, byte by byte
+            assertThat(next.toString()).isGreaterThan(previous.toString());
+            previous = next;
+        }
+    }
+
+    @Test
+    void timestampRejectsRandomIds() {
+        assertThatThrownBy(() -> Uuids.timestamp(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
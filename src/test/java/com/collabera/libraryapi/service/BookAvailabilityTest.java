@@ -0,0 +1,123 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class BookAvailabilityTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LoanRepository loans = mock(LoanRepository.class);
+    private final BookAvailability availability = new BookAvailability(loans, registry, Duration.ofSeconds(30));
+    private final UUID bookId = UUID.randomUUID();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void copyIsRejectedOnlyAfterItsBorrowCommits() {
+        begin();
+        availability.borrowing(bookId);
+        assertThat(availability.isBorrowed(bookId)).isFalse();
+        end(false);
+        assertThat(availability.isBorrowed(bookId)).isFalse();
+
+        borrow(bookId, true);
+        assertThat(availability.isBorrowed(bookId)).isTrue();
+        assertThat(registry.get("library.loans.precheck.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void copyFoundTakenStaysRejectedAfterRollback() {
+        begin();
+        availability.taken(bookId);
+        end(false);
+
+        assertThat(availability.isBorrowed(bookId)).isTrue();
+    }
+
+    @Test
+    void returnFreesTheCopyOnlyOnCommit() {
+        borrow(bookId, true);
+
+        release(bookId, false);
+        assertThat(availability.isBorrowed(bookId)).isTrue();
+
+        release(bookId, true);
+        assertThat(availability.isBorrowed(bookId)).isFalse();
+    }
+
+    @Test
+    void reconcileForgetsCopiesReturnedElsewhereSinceTheLastRun() {
+        UUID kept = UUID.randomUUID();
+        borrow(bookId, true);
+        borrow(kept, true);
+        given(loans.findReturnedBookIdsSince(any())).willReturn(List.of(bookId, UUID.randomUUID()));
+
+        Instant before = Instant.now();
+        availability.reconcile();
+        availability.reconcile();
+
+        assertThat(availability.isBorrowed(bookId)).isFalse();
+        assertThat(availability.isBorrowed(kept)).isTrue();
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(loans, times(2)).findReturnedBookIdsSince(since.capture());
+        assertThat(since.getAllValues().get(0)).isBefore(before.minusSeconds(29));
+        assertThat(since.getAllValues().get(1)).isAfterOrEqualTo(before.minusSeconds(30));
+    }
+
+    @Test
+    void borrowNeedsATransaction() {
+        assertThatThrownBy(() -> availability.borrowing(bookId)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void borrow(UUID id, boolean commit) {
+        inTransaction(() -> {
+            availability.borrowing(id);
+            return true;
+        }, commit);
+    }
+
+    private void release(UUID id, boolean commit) {
+        inTransaction(() -> {
+            availability.released(id);
+            return true;
+        }, commit);
+    }
+
+    private static boolean inTransaction(BooleanSupplier work, boolean commit) {
+        begin();
+        boolean result = work.getAsBoolean();
+        end(commit);
+        return result;
+    }
+
+    private static void begin() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void end(boolean commit) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        int status = commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+}
@@ -0,0 +1,182 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.constants.DbConstraints;
+import com.collabera.libraryapi.core.util.Uuids;
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkin;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Whatever {@link BookCheckout} backend is active, one call must either borrow or return the copy
+ * (flag, counter and loan row together) or write nothing and say which precondition failed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookCheckoutContractTest {
+    private static final long ISBN = 9781000000054L;
+
+    @Autowired
+    private BookCheckout checkout;
+    @Autowired
+    private TransactionTemplate tx;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private BookService books;
+
+    private UUID bookId;
+    private final UUID borrowerId = UUID.randomUUID();
+    private final Instant at = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @BeforeEach
+    void seed() {
+        bookId = books.create(new BookCreateRequest(Long.toString(ISBN), "Checkout Title", "Checkout Author")).id();
+        jdbc.update("insert into borrowers (id, name, email) values (?, ?, ?)", borrowerId, "Reader", borrowerId + "@example.com");
+    }
+
+    @Test
+    void borrowsAvailableCopy() {
+        int available = available();
+        UUID loanId = Uuids.v7();
+
+        Checkout result = borrow(loanId, bookId, borrowerId);
+
+        assertThat(result.getBorrowerFound()).isTrue();
+        assertThat(result.getBookFound()).isTrue();
+        assertThat(result.getBorrowed()).isTrue();
+        assertThat(result.getIsbn()).isEqualTo(ISBN);
+        assertThat(result.getTitle()).isEqualTo("Checkout Title");
+        assertThat(result.getAuthor()).isEqualTo("Checkout Author");
+        assertThat(result.getBorrowerName()).isEqualTo("Reader");
+        assertThat(available()).isEqualTo(available - 1);
+        assertThat(jdbc.queryForObject("select borrowed from books where id = ?", Boolean.class, bookId)).isTrue();
+        Map<String, Object> loan = jdbc.queryForMap("select book_id, borrower_id, borrowed_at, returned_at, created_by from loans where id = ?", loanId);
+        assertThat(loan).containsEntry("BOOK_ID", bookId)
+                .containsEntry("BORROWER_ID", borrowerId)
+                .containsEntry("RETURNED_AT", null)
+                .containsEntry("CREATED_BY", "system");
+        assertThat(((Timestamp) loan.get("BORROWED_AT")).toInstant()).isEqualTo(at);
+    }
+
+    @Test
+    void refusesBorrowedCopyWithoutWriting() {
+        borrow(Uuids.v7(), bookId, borrowerId);
+        int available = available();
+        UUID loanId = Uuids.v7();
+
+        Checkout result = borrow(loanId, bookId, borrowerId);
+
+        assertThat(result.getBorrowerFound()).isTrue();
+        assertThat(result.getBookFound()).isTrue();
+        assertThat(result.getBorrowed()).isFalse();
+        assertThat(available()).isEqualTo(available);
+        assertThat(loanCount(loanId)).isZero();
+    }
+
+    @Test
+    void reportsMissingBorrowerWithoutWriting() {
+        UUID loanId = Uuids.v7();
+
+        Checkout result = borrow(loanId, bookId, UUID.randomUUID());
+
+        assertThat(result.getBorrowerFound()).isFalse();
+        assertThat(result.getBorrowed()).isFalse();
+        assertThat(jdbc.queryForObject("select borrowed from books where id = ?", Boolean.class, bookId)).isFalse();
+        assertThat(loanCount(loanId)).isZero();
+    }
+
+    @Test
+    void reportsMissingBook() {
+        Checkout result = borrow(Uuids.v7(), UUID.randomUUID(), borrowerId);
+
+        assertThat(result.getBorrowerFound()).isTrue();
+        assertThat(result.getBookFound()).isFalse();
+        assertThat(result.getBorrowed()).isFalse();
+    }
+
+    @Test
+    void returnsBorrowedCopy() {
+        UUID loanId = Uuids.v7();
+        borrow(loanId, bookId, borrowerId);
+        int available = available();
+        Instant returnedAt = at.plusSeconds(60);
+
+        Checkin result = tx.execute(status -> checkout.returnBook(bookId, borrowerId, returnedAt));
+
+        assertThat(result.getLoanId()).isEqualTo(loanId.toString());
+        assertThat(result.getBorrowedAt()).isEqualTo(at);
+        assertThat(result.getIsbn()).isEqualTo(ISBN);
+        assertThat(result.getBorrowerName()).isEqualTo("Reader");
+        assertThat(available()).isEqualTo(available + 1);
+        assertThat(jdbc.queryForObject("select borrowed from books where id = ?", Boolean.class, bookId)).isFalse();
+        assertThat(jdbc.queryForObject("select returned_at from loans where id = ?", Timestamp.class, loanId).toInstant())
+                .isEqualTo(returnedAt);
+    }
+
+    @Test
+    void tellsCopyLentToOtherFromCopyNotOut() {
+        UUID other = UUID.randomUUID();
+        jdbc.update("insert into borrowers (id, name, email) values (?, ?, ?)", other, "Other", other + "@example.com");
+
+        Checkin notOut = giveBack(bookId, borrowerId);
+        borrow(Uuids.v7(), bookId, other);
+        Checkin lentToOther = giveBack(bookId, borrowerId);
+
+        assertThat(notOut.getLoanId()).isNull();
+        assertThat(notOut.getLentToOther()).isFalse();
+        assertThat(lentToOther.getLoanId()).isNull();
+        assertThat(lentToOther.getLentToOther()).isTrue();
+        assertThat(jdbc.queryForObject("select borrowed from books where id = ?", Boolean.class, bookId)).isTrue();
+    }
+
+    @Test
+    void reportsMissingBorrowerOrBookOnReturn() {
+        assertThat(giveBack(bookId, UUID.randomUUID()).getBorrowerFound()).isFalse();
+        assertThat(giveBack(UUID.randomUUID(), borrowerId).getBookFound()).isFalse();
+    }
+
+    @Test
+    void allowsOneOpenLoanPerCopy() {
+        borrow(Uuids.v7(), bookId, borrowerId);
+
+        assertThatThrownBy(() -> jdbc.update("insert into loans (id, book_id, borrower_id, borrowed_at, due_at) values (?, ?, ?, ?, ?)",
+                Uuids.v7(), bookId, borrowerId, Timestamp.from(at), Timestamp.from(at.plus(Duration.ofDays(14)))))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageFindingMatch("(?i)" + DbConstraints.UQ_LOANS_BOOK_ACTIVE);
+    }
+
+    private Checkin giveBack(UUID bookId, UUID borrowerId) {
+        return tx.execute(status -> checkout.returnBook(bookId, borrowerId, at.plusSeconds(1)));
+    }
+
+    private Checkout borrow(UUID loanId, UUID bookId, UUID borrowerId) {
+        return tx.execute(status -> checkout.borrow(loanId, bookId, borrowerId, at, at.plus(Duration.ofDays(14))));
+    }
+
+    private int available() {
+        return jdbc.queryForObject("select available_copies from book_catalog where isbn = ?", Integer.class, ISBN);
+    }
+
+    private int loanCount(UUID loanId) {
+        return jdbc.queryForObject("select count(*) from loans where id = ?", Integer.class, loanId);
+    }
+}
@@ -0,0 +1,69 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookExportServiceTest {
+
+    private final BookRepository books = mock(BookRepository.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final BookExportService exporter = new BookExportService(books, new ObjectMapper(), txManager, 250);
+
+    private final UUID id = UUID.fromString("f8f6a9f2-24de-4f61-9c76-f0f74b07a99b");
+
+    @Test
+    void writesOneJsonObjectPerLineInsideReadOnlyTransactionAndClosesCursor() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(books.streamResponses(250)).thenReturn(Stream.of(
+                new BookResponse(id, "9780134685991", "Effective Java", "Joshua Bloch", false),
+                new BookResponse(id, "9780596009205", "Head First Java", "Kathy Sierra", true)).onClose(() -> closed.set(true)));
+
+        String out = export(BookExportService.Format.NDJSON);
+
+        assertThat(out.split("\n", -1)).containsExactly(
+                "{\"id\":\"" + id + "\",\"isbn\":\"9780134685991\",\"title\":\"Effective Java\",\"author\":\"Joshua Bloch\",\"borrowed\":false}",
+                "{\"id\":\"" + id + "\",\"isbn\":\"9780596009205\",\"title\":\"Head First Java\",\"author\":\"Kathy Sierra\",\"borrowed\":true}",
+                "");
+        assertThat(closed).isTrue();
+        verify(txManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void writesCsvWithHeaderAndQuotesSpecialCharacters() {
+        when(books.streamResponses(250)).thenReturn(Stream.of(
+                new BookResponse(id, "9780596009205", "Head, \"First\" Java", "Kathy Sierra", false)));
+
+        assertThat(export(BookExportService.Format.CSV)).isEqualTo(
+                "id,isbn,title,author,borrowed\n" + id + ",9780596009205,\"Head, \"\"First\"\" Java\",Kathy Sierra,false\n");
+    }
+
+    @Test
+    void emptyInventoryWritesNothingButTheCsvHeader() {
+        when(books.streamResponses(250)).thenReturn(Stream.empty(), Stream.empty());
+
+        assertThat(export(BookExportService.Format.NDJSON)).isEmpty();
+        assertThat(export(BookExportService.Format.CSV)).isEqualTo("id,isbn,title,author,borrowed\n");
+    }
+
+    private String export(BookExportService.Format format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,92 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.book.BulkBookCreateResponse;
+import com.collabera.libraryapi.domain.dto.book.BulkItemResult;
+import com.collabera.libraryapi.domain.event.CatalogCreatedEvent;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.collabera.libraryapi.TestFixtures.isbn;
+import static com.collabera.libraryapi.core.constants.ErrorCodes.ISBN_METADATA_MISMATCH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Bulk ingest against a real database when other writers create catalogs between its lookup and its
+ * insert: each item is judged against whatever row won, and the batch itself does not fail.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookIngestRaceTest {
+
+    @Autowired
+    private BookRepository books;
+    @Autowired
+    private BookCatalogRepository catalogs;
+    @Autowired
+    private CatalogUpsert upsert;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private PlatformTransactionManager txManager;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void catalogsCreatedAfterTheLookupBecomePerItemResults() {
+        String same = isbn();
+        String different = isbn();
+        String fresh = isbn();
+
+        // Let the lookup run, then commit two catalogs from another transaction before ingest inserts
+        BookCatalogRepository racing = mock(BookCatalogRepository.class, delegatesTo(catalogs));
+        TransactionTemplate other = new TransactionTemplate(txManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        doAnswer(inv -> {
+            Object found = catalogs.findAllById(inv.getArgument(0));
+            other.executeWithoutResult(status -> {
+                jdbc.update("insert into book_catalog (isbn, title, author) values (?, 'Race Title', 'Race Author')",
+                        Long.parseLong(same));
+                jdbc.update("insert into book_catalog (isbn, title, author) values (?, 'Someone Else', 'Race Author')",
+                        Long.parseLong(different));
+            });
+            return found;
+        }).doAnswer(inv -> catalogs.findAllById(inv.getArgument(0))).when(racing).findAllById(any());
+        ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+        BookIngestService service = new BookIngestService(books, racing, upsert, validator, events, 2);
+
+        BulkBookCreateResponse response = new TransactionTemplate(txManager).execute(status -> service.ingest(List.of(
+                new BookCreateRequest(same, "Race Title", "Race Author"),
+                new BookCreateRequest(different, "Race Title", "Race Author"),
+                new BookCreateRequest(fresh, "Race Title", "Race Author"))));
+
+        assertThat(response.items()).extracting(BulkItemResult::status).containsExactly(
+                BulkItemResult.Status.CREATED, BulkItemResult.Status.REJECTED, BulkItemResult.Status.CREATED);
+        assertThat(response.items().get(1).code()).isEqualTo(ISBN_METADATA_MISMATCH);
+        assertThat(copies(same)).isEqualTo(1);
+        assertThat(copies(different)).isZero();
+        assertThat(copies(fresh)).isEqualTo(1);
+        verify(events).publishEvent(new CatalogCreatedEvent(fresh, "Race Title", "Race Author"));
+        verify(events, times(1)).publishEvent(any(CatalogCreatedEvent.class));
+    }
+
+    private int copies(String isbn) {
+        return jdbc.queryForObject("select total_copies from book_catalog where isbn = ?", Integer.class,
+                Long.parseLong(isbn));
+    }
+}
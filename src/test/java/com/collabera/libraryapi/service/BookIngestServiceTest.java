@@ -0,0 +1,153 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.book.BulkBookCreateResponse;
+import com.collabera.libraryapi.domain.dto.book.BulkItemResult;
+import com.collabera.libraryapi.domain.entity.Book;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.event.BooksAddedEvent;
+import com.collabera.libraryapi.domain.event.CatalogCreatedEvent;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.collabera.libraryapi.core.constants.ErrorCodes.ISBN_METADATA_MISMATCH;
+import static com.collabera.libraryapi.core.constants.ErrorCodes.VALIDATION_ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookIngestServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookCatalogRepository catalogRepository;
+    @Mock
+    private CatalogUpsert upsert;
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private BookIngestService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookIngestService(bookRepository, catalogRepository, upsert,
+                Validation.buildDefaultValidatorFactory().getValidator(), events, 50);
+        lenient().doAnswer(inv -> {
+            inv.<Collection<Book>>getArgument(0).forEach(b -> b.setId(UUID.randomUUID()));
+            return null;
+        }).when(bookRepository).insertAll(any(), anyInt());
+    }
+
+    @Test
+    void ingestResolvesCatalogsOnceAndInsertsInOneBatch() {
+        BookCatalog existing = BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build();
+        BookCatalog fresh = BookCatalog.builder().isbn(9781617294945L).title("Spring in Action").author("Craig Walls").build();
+        given(catalogRepository.findAllById(any())).willReturn(List.of(existing), List.of(fresh));
+        given(upsert.createAbsent(any(), anyInt())).willReturn(Set.of(9781617294945L));
+
+        BulkBookCreateResponse response = service.ingest(List.of(
+                new BookCreateRequest("978-0-13-468599-1", "Effective Java", "Joshua Bloch"),
+                new BookCreateRequest("9780134685991", "Effective Java", "Joshua Bloch"),
+                new BookCreateRequest("9781617294945", "Spring in Action", "Craig Walls")));
+
+        assertThat(response.created()).isEqualTo(3);
+        assertThat(response.rejected()).isZero();
+        assertThat(response.items()).extracting(BulkItemResult::index).containsExactly(0, 1, 2);
+        assertThat(response.items()).allSatisfy(r -> assertThat(r.id()).isNotNull());
+
+        ArgumentCaptor<Iterable<Long>> isbns = ArgumentCaptor.forClass(Iterable.class);
+        verify(catalogRepository, times(2)).findAllById(isbns.capture());
+        assertThat(isbns.getAllValues().get(0)).containsExactlyInAnyOrder(9780134685991L, 9781617294945L);
+        assertThat(isbns.getAllValues().get(1)).containsExactly(9781617294945L);
+
+        ArgumentCaptor<Collection<BookCatalog>> created = ArgumentCaptor.forClass(Collection.class);
+        verify(upsert).createAbsent(created.capture(), eq(50));
+        assertThat(created.getValue()).extracting(BookCatalog::getIsbn).containsExactly(9781617294945L);
+        ArgumentCaptor<Collection<Book>> copies = ArgumentCaptor.forClass(Collection.class);
+        verify(bookRepository).insertAll(copies.capture(), eq(50));
+        assertThat(copies.getValue()).hasSize(3);
+        assertThat(copies.getValue()).extracting(Book::getCatalog).containsOnly(existing, fresh);
+        verify(bookRepository, never()).save(any());
+
+        verify(catalogRepository, never()).upsertCopy(anyLong(), anyString(), anyString(), anyString());
+        verify(events).publishEvent(new CatalogCreatedEvent("9781617294945", "Spring in Action", "Craig Walls"));
+        ArgumentCaptor<BooksAddedEvent> added = ArgumentCaptor.forClass(BooksAddedEvent.class);
+        verify(events).publishEvent(added.capture());
+        assertThat(added.getValue().catalogs()).extracting(BooksAddedEvent.Catalog::isbn)
+                .containsExactly("9780134685991", "9781617294945");
+    }
+
+    @Test
+    void invalidAndMismatchedItemsAreRejectedWithoutBlockingTheRest() {
+        BookCatalog existing = BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build();
+        BookCatalog fresh = BookCatalog.builder().isbn(9781617294945L).title("Spring in Action").author("Craig Walls").build();
+        given(catalogRepository.findAllById(any())).willReturn(List.of(existing), List.of(fresh));
+        given(upsert.createAbsent(any(), anyInt())).willReturn(Set.of(9781617294945L));
+
+        BulkBookCreateResponse response = service.ingest(Arrays.asList(
+                new BookCreateRequest("BAD", "Title", "Author"),
+                new BookCreateRequest("9780134685991", "Different", "Joshua Bloch"),
+                null,
+                new BookCreateRequest("9781617294945", "Spring in Action", "Craig Walls"),
+                new BookCreateRequest("9781617294945", "Spring in Action 6", "Craig Walls")));
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.rejected()).isEqualTo(4);
+        assertThat(response.items()).extracting(BulkItemResult::status).containsExactly(
+                BulkItemResult.Status.REJECTED, BulkItemResult.Status.REJECTED, BulkItemResult.Status.REJECTED,
+                BulkItemResult.Status.CREATED, BulkItemResult.Status.REJECTED);
+        assertThat(response.items()).extracting(BulkItemResult::code).containsExactly(
+                VALIDATION_ERROR, ISBN_METADATA_MISMATCH, VALIDATION_ERROR, null, ISBN_METADATA_MISMATCH);
+        assertThat(response.items().get(0).message()).isEqualTo("isbn: Invalid ISBN-10/13 format");
+        ArgumentCaptor<Collection<Book>> copies = ArgumentCaptor.forClass(Collection.class);
+        verify(bookRepository).insertAll(copies.capture(), anyInt());
+        assertThat(copies.getValue()).extracting(b -> b.getCatalog().getIsbn()).containsExactly(9781617294945L);
+    }
+
+    @Test
+    void catalogCreatedConcurrentlyIsCheckedPerItemInsteadOfFailingTheBatch() {
+        BookCatalog other = BookCatalog.builder().isbn(9781617294945L).title("Spring in Action 6").author("Craig Walls").build();
+        given(catalogRepository.findAllById(any())).willReturn(List.of(), List.of(other));
+        given(upsert.createAbsent(any(), anyInt())).willReturn(Set.of());
+
+        BulkBookCreateResponse response = service.ingest(List.of(
+                new BookCreateRequest("9781617294945", "Spring in Action", "Craig Walls"),
+                new BookCreateRequest("9781617294945", "Spring in Action 6", "Craig Walls")));
+
+        assertThat(response.items()).extracting(BulkItemResult::code).containsExactly(ISBN_METADATA_MISMATCH, null);
+        ArgumentCaptor<Collection<Book>> copies = ArgumentCaptor.forClass(Collection.class);
+        verify(bookRepository).insertAll(copies.capture(), anyInt());
+        assertThat(copies.getValue()).extracting(Book::getCatalog).containsExactly(other);
+        verify(events, never()).publishEvent(any(CatalogCreatedEvent.class));
+    }
+
+    @Test
+    void nothingIsWrittenWhenEveryItemIsRejected() {
+        BulkBookCreateResponse response = service.ingest(List.of(new BookCreateRequest("", "", "")));
+
+        assertThat(response.created()).isZero();
+        assertThat(response.items().get(0).message()).contains("isbn:", "title:", "author:");
+        verifyNoInteractions(bookRepository, catalogRepository, upsert, events);
+    }
+}
@@ -1,13 +1,22 @@
 package com.collabera.libraryapi.service;
 
+import com.collabera.libraryapi.core.util.CursorResponse;
+import com.collabera.libraryapi.core.util.Cursors;
 import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
 import com.collabera.libraryapi.domain.dto.book.BookResponse;
 import com.collabera.libraryapi.domain.entity.Book;
 import com.collabera.libraryapi.domain.entity.BookCatalog;
 import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
 import com.collabera.libraryapi.domain.repository.BookRepository;
-import com.collabera.libraryapi.mapper.BookMapper;
+import com.collabera.libraryapi.domain.event.BooksAddedEvent;
+import com.collabera.libraryapi.domain.event.CatalogCreatedEvent;
+import com.collabera.libraryapi.service.search.BookCountCache;
+import com.collabera.libraryapi.service.search.BookPageCache;
+import com.collabera.libraryapi.service.search.CatalogSearch;
+import com.collabera.libraryapi.service.search.SuggestionIndex;
+import com.collabera.libraryapi.web.exception.InvalidCursorException;
 import com.collabera.libraryapi.web.exception.IsbnMetadataMismatchException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -17,14 +26,19 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,15 +57,31 @@ class BookServiceTest {
     @Mock
     private BookCatalogRepository catalogRepository;
     @Mock
-    private BookMapper mapper;
+    private CatalogUpsert catalogUpsert;
+    @Mock
+    private CatalogSearch catalogSearch;
+    @Mock
+    private BookCountCache counts;
+    @Mock
+    private BookPageCache pages;
+    @Mock
+    private SuggestionIndex suggestions;
+    @Mock
+    private ApplicationEventPublisher events;
     @InjectMocks
     private BookService service;
 
+    @BeforeEach
+    void pageCacheMisses() {
+        lenient().when(pages.get(any(), any(), any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(2).get());
+    }
+
     static Stream<Arguments> isbnVariants() {
         return Stream.of(
                 Arguments.of("978-0-13-468599-1", "9780134685991"),
                 Arguments.of("978 0 13 468599 1", "9780134685991"),
-                Arguments.of("  9780134685991  ", "9780134685991")
+                Arguments.of("  9780134685991  ", "9780134685991"),
+                Arguments.of("0-13-468599-7", "9780134685991")
         );
     }
 
@@ -59,67 +89,210 @@ class BookServiceTest {
     @MethodSource("com.collabera.libraryapi.service.BookServiceTest#isbnVariants")
     void createsNewCatalogWhenAbsent_withNormalizedIsbn(String raw, String normalized) {
         BookCreateRequest req = new BookCreateRequest(raw, "Effective Java", "Joshua Bloch");
-        given(catalogRepository.findByIsbnIgnoreCase(normalized)).willReturn(Optional.empty());
-        BookCatalog savedCatalog = BookCatalog.builder().isbn(normalized).title(req.title()).author(req.author()).build();
-        given(catalogRepository.save(any(BookCatalog.class))).willReturn(savedCatalog);
+        long key = Long.parseLong(normalized);
+        given(catalogUpsert.addCopy(key, req.title(), req.author())).willReturn(CatalogUpsert.Outcome.CREATED);
+        BookCatalog reference = BookCatalog.builder().isbn(key).build();
+        given(catalogRepository.getReferenceById(key)).willReturn(reference);
 
-        Book persisted = Book.builder().id(UUID.randomUUID()).catalog(savedCatalog).borrowed(false).version(0L).build();
-        given(bookRepository.save(any(Book.class))).willReturn(persisted);
-        BookResponse mapped = new BookResponse(persisted.getId(), normalized, req.title(), req.author(), false);
-        given(mapper.toResponse(persisted)).willReturn(mapped);
+        Book persisted = Book.builder().id(UUID.randomUUID()).catalog(reference).borrowed(false).version(0L).build();
+        given(bookRepository.save(argThat(b -> b.getCatalog() == reference))).willReturn(persisted);
 
         BookResponse response = service.create(req);
-        ArgumentCaptor<BookCatalog> catalogCaptor = ArgumentCaptor.forClass(BookCatalog.class);
-        verify(catalogRepository).save(catalogCaptor.capture());
-        assertThat(catalogCaptor.getValue().getIsbn()).isEqualTo(normalized);
-        assertThat(response.isbn()).isEqualTo(normalized);
-        verify(bookRepository).save(any(Book.class));
+        assertThat(response).isEqualTo(new BookResponse(persisted.getId(), normalized, req.title(), req.author(), false));
+        verify(catalogRepository, never()).save(any());
+        verify(events).publishEvent(new CatalogCreatedEvent(normalized, req.title(), req.author()));
+        verify(events).publishEvent(BooksAddedEvent.of(normalized, req.title(), req.author()));
     }
 
     @Test
-    void reusesExistingCatalogWhenTitleAndAuthorMatch() {
+    void addsCopyToExistingCatalogWhenTitleAndAuthorMatch() {
         String isbn = "9780134685991";
         BookCreateRequest req = new BookCreateRequest(isbn, "Effective Java", "Joshua Bloch");
-        BookCatalog existing = BookCatalog.builder().isbn(isbn).title(req.title()).author(req.author()).build();
-        given(catalogRepository.findByIsbnIgnoreCase(isbn)).willReturn(Optional.of(existing));
+        given(catalogUpsert.addCopy(9780134685991L, req.title(), req.author())).willReturn(CatalogUpsert.Outcome.ADDED);
+        BookCatalog reference = BookCatalog.builder().isbn(9780134685991L).build();
+        given(catalogRepository.getReferenceById(9780134685991L)).willReturn(reference);
 
-        Book persisted = Book.builder().id(UUID.randomUUID()).catalog(existing).borrowed(false).version(0L).build();
-        given(bookRepository.save(any(Book.class))).willReturn(persisted);
-        BookResponse mapped = new BookResponse(persisted.getId(), isbn, req.title(), req.author(), false);
-        given(mapper.toResponse(persisted)).willReturn(mapped);
+        Book persisted = Book.builder().id(UUID.randomUUID()).catalog(reference).borrowed(false).version(0L).build();
+        given(bookRepository.save(argThat(b -> b.getCatalog() == reference))).willReturn(persisted);
 
         BookResponse response = service.create(req);
-        assertThat(response.id()).isEqualTo(persisted.getId());
-        verify(catalogRepository, never()).save(any());
+        assertThat(response).isEqualTo(new BookResponse(persisted.getId(), isbn, req.title(), req.author(), false));
+        verify(catalogRepository, never()).findById(any());
+        verify(events, never()).publishEvent(any(CatalogCreatedEvent.class));
+        verify(events).publishEvent(any(BooksAddedEvent.class));
     }
 
     @Test
     void throwsWhenMetadataMismatch() {
         String isbn = "9780134685991";
         BookCreateRequest req = new BookCreateRequest(isbn, "Effective Java", "Joshua Bloch");
-        BookCatalog existing = BookCatalog.builder().isbn(isbn).title("Different").author("Somebody").build();
-        given(catalogRepository.findByIsbnIgnoreCase(isbn)).willReturn(Optional.of(existing));
+        given(catalogUpsert.addCopy(9780134685991L, req.title(), req.author())).willReturn(CatalogUpsert.Outcome.MISMATCH);
 
         assertThatThrownBy(() -> service.create(req))
                 .isInstanceOf(IsbnMetadataMismatchException.class)
                 .hasMessageContaining(isbn);
         verify(bookRepository, never()).save(any());
+        verifyNoInteractions(events);
     }
 
     @Test
-    void listDelegatesToRepositoryAndMaps() {
-        BookCatalog cat = BookCatalog.builder().isbn("9780134685991").title("Effective Java").author("Joshua Bloch").build();
-        Book book = Book.builder().id(UUID.randomUUID()).catalog(cat).borrowed(false).version(0L).build();
-        Page<Book> page = new PageImpl<>(List.of(book));
+    void listReadsProjectionWithoutMapping() {
         PageRequest pageable = PageRequest.of(0, 10);
-        given(bookRepository.findAll(ArgumentMatchers.<Specification<Book>>any(), eq(pageable))).willReturn(page);
-        BookResponse expected = new BookResponse(book.getId(), cat.getIsbn(), cat.getTitle(), cat.getAuthor(), false);
-        given(mapper.toResponse(book)).willReturn(expected);
+        BookResponse expected = new BookResponse(UUID.randomUUID(), "9780134685991", "Effective Java", "Joshua Bloch", false);
+        given(bookRepository.findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(pageable))).willReturn(new SliceImpl<>(List.of(expected), pageable, false));
 
         Page<BookResponse> result = service.list("java", pageable);
 
         assertThat(result.getContent()).containsExactly(expected);
-        verify(bookRepository).findAll(ArgumentMatchers.<Specification<Book>>any(), eq(pageable));
-        verify(mapper).toResponse(book);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(bookRepository).findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(pageable));
+        verifyNoInteractions(counts);
+    }
+
+    @Test
+    void listUsesIndexCandidatesWhenAvailable() {
+        BookCatalog cat = BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build();
+        BookResponse response = new BookResponse(UUID.randomUUID(), cat.getIsbn().toString(), cat.getTitle(), cat.getAuthor(), false);
+        PageRequest pageable = PageRequest.of(0, 10);
+        given(catalogSearch.search("java")).willReturn(Optional.of(List.of(cat.getIsbn().toString())));
+        given(bookRepository.findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(pageable))).willReturn(new SliceImpl<>(List.of(response), pageable, false));
+
+        Page<BookResponse> result = service.list("java", pageable);
+
+        assertThat(result.getContent()).extracting(BookResponse::isbn).containsExactly(cat.getIsbn().toString());
+    }
+
+    @Test
+    void listSkipsDatabaseWhenIndexHasNoMatch() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        given(catalogSearch.search("nothing")).willReturn(Optional.of(List.of()));
+
+        Page<BookResponse> result = service.list("nothing", pageable);
+
+        assertThat(result.getTotalElements()).isZero();
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void scrollReturnsCursorOnlyWhenMoreRowsExist() {
+        BookCatalog cat = BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build();
+        BookResponse first = new BookResponse(UUID.randomUUID(), cat.getIsbn().toString(), cat.getTitle(), cat.getAuthor(), false);
+        PageRequest firstPage = PageRequest.of(0, 1, Sort.by("catalog.title", "id"));
+        given(bookRepository.findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(firstPage)))
+                .willReturn(new SliceImpl<>(List.of(first), firstPage, true));
+
+        CursorResponse<BookResponse> page = service.scroll(null, null, 1);
+
+        assertThat(page.content()).extracting(BookResponse::id).containsExactly(first.id());
+        assertThat(Cursors.decode(page.nextCursor(), 2)).containsExactly("Effective Java", first.id().toString());
+    }
+
+    @Test
+    void scrollRejectsMalformedCursor() {
+        String notAUuid = Cursors.encode("Effective Java", "not-a-uuid");
+        assertThatThrownBy(() -> service.scroll(null, notAUuid, 10)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> service.scroll(null, "%%%", 10)).isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void listTakesTotalFromCountCacheWhenPageIsFull() {
+        BookCatalog cat = BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build();
+        BookResponse response = new BookResponse(UUID.randomUUID(), cat.getIsbn().toString(), cat.getTitle(), cat.getAuthor(), false);
+        PageRequest pageable = PageRequest.of(0, 1);
+        given(bookRepository.findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(pageable))).willReturn(new SliceImpl<>(List.of(response), pageable, true));
+        given(counts.get(eq(null), any())).willReturn(42L);
+
+        Page<BookResponse> result = service.list(null, pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(42);
+        verify(bookRepository, never()).count(ArgumentMatchers.<Specification<Book>>any());
+    }
+
+    @Test
+    void sliceNeverCounts() {
+        BookCatalog cat = BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build();
+        BookResponse response = new BookResponse(UUID.randomUUID(), cat.getIsbn().toString(), cat.getTitle(), cat.getAuthor(), false);
+        PageRequest pageable = PageRequest.of(0, 1);
+        given(bookRepository.findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(pageable))).willReturn(new SliceImpl<>(List.of(response), pageable, true));
+
+        Slice<BookResponse> result = service.slice(null, pageable);
+
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.getContent()).hasSize(1);
+        verifyNoInteractions(counts);
+    }
+
+    @Test
+    void relevanceSortFollowsBackendRankingAndDropsSortFromPage() {
+        BookCatalog cat = BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build();
+        BookResponse response = new BookResponse(UUID.randomUUID(), cat.getIsbn().toString(), cat.getTitle(), cat.getAuthor(), false);
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(BookService.RELEVANCE));
+        given(catalogSearch.rank("java", 10)).willReturn(Optional.of(List.of(cat.getIsbn().toString(), "9780596009205")));
+        given(bookRepository.findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(PageRequest.of(0, 10))))
+                .willReturn(new SliceImpl<>(List.of(response), PageRequest.of(0, 10), false));
+
+        Page<BookResponse> result = service.list("java", pageable);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getPageable().getSort()).isEqualTo(Sort.by(BookService.RELEVANCE));
+    }
+
+    @Test
+    void relevanceSortWithoutTermFallsBackToTitle() {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(BookService.RELEVANCE));
+        given(bookRepository.findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), any()))
+                .willReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        service.list(null, pageable);
+
+        verify(bookRepository).findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(PageRequest.of(0, 10, Sort.by("catalog.title"))));
+        verifyNoInteractions(catalogSearch);
+    }
+
+    @Test
+    void listServesCachedPageWithoutTouchingRepository() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        Page<BookResponse> cached = new PageImpl<>(List.of(), pageable, 0);
+        doReturn(cached).when(pages).get(eq("java"), eq(pageable), any());
+
+        assertThat(service.list("java", pageable)).isSameAs(cached);
+        verifyNoInteractions(bookRepository, catalogSearch);
+    }
+
+    @Test
+    void suggestClampsLimit() {
+        service.suggest("jav", 500);
+        service.suggest("jav", 0);
+
+        verify(suggestions).suggest("jav", 20);
+        verify(suggestions).suggest("jav", 1);
+    }
+
+    @Test
+    void relevanceAsksBackendForTopOffsetPlusSizeAndCountsFullMatchSet() {
+        PageRequest pageable = PageRequest.of(2, 5, Sort.by(BookService.RELEVANCE));
+        given(catalogSearch.rank("java", 15)).willReturn(Optional.of(List.of("9780134685991")));
+        given(bookRepository.findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(PageRequest.of(2, 5))))
+                .willReturn(new SliceImpl<>(List.of(), PageRequest.of(2, 5), false));
+        given(counts.get(eq("java"), any())).willReturn(12L);
+
+        Page<BookResponse> result = service.list("java", pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(12);
+        verify(catalogSearch, never()).search(any());
+    }
+
+    @Test
+    void relevanceFallsBackToTitleWhenBackendCannotRank() {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(BookService.RELEVANCE));
+        given(catalogSearch.rank("java", 10)).willReturn(Optional.empty());
+        given(catalogSearch.search("java")).willReturn(Optional.empty());
+        given(bookRepository.findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), any()))
+                .willReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        service.list("java", pageable);
+
+        verify(bookRepository).findResponseSlice(ArgumentMatchers.<Specification<Book>>any(), eq(PageRequest.of(0, 10, Sort.by("catalog.title"))));
     }
 }
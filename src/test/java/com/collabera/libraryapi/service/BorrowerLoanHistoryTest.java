@@ -0,0 +1,123 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.util.CursorResponse;
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
+import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
+import com.collabera.libraryapi.domain.dto.loan.LoanStatus;
+import com.collabera.libraryapi.web.exception.BorrowerNotFoundException;
+import com.collabera.libraryapi.web.exception.InvalidCursorException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.collabera.libraryapi.TestFixtures.borrower;
+import static com.collabera.libraryapi.TestFixtures.isbn;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Loan history pages against a real database: order, filters, cursor walk and statements per page. */
+@SpringBootTest
+@ActiveProfiles("test")
+class BorrowerLoanHistoryTest {
+    @Autowired
+    private BorrowerService borrowers;
+    @Autowired
+    private LoanService loans;
+    @Autowired
+    private BookService books;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private UUID reader;
+    private List<UUID> copies;
+
+    /** Five loans, the first and third returned, two of them borrowed at the same instant; plus someone else's loan. */
+    @BeforeEach
+    void seed() {
+        String isbn = isbn();
+        reader = borrower(borrowers);
+        copies = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            copies.add(books.create(new BookCreateRequest(isbn, "History Title " + isbn, "History Author")).id());
+        }
+        for (int i = 0; i < 5; i++) loans.borrow(new LoanCreateRequest(copies.get(i), reader));
+        loans.borrow(new LoanCreateRequest(copies.get(5), borrower(borrowers)));
+        loans.returnBook(new LoanCreateRequest(copies.get(0), reader));
+        loans.returnBook(new LoanCreateRequest(copies.get(2), reader));
+        Timestamp tie = Timestamp.from(Instant.parse("2025-01-01T00:00:00Z"));
+        jdbc.update("update loans set borrowed_at = ? where book_id in (?, ?)", tie, copies.get(1), copies.get(3));
+    }
+
+    @Test
+    void walksNewestFirstAcrossEqualTimestamps() {
+        List<UUID> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            CursorResponse<LoanResponse> page = borrowers.loans(reader, null, after, 2);
+            page.content().forEach(l -> seen.add(l.id()));
+            after = page.nextCursor();
+            pages++;
+        } while (after != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(jdbc.queryForList(
+                "select id from loans where borrower_id = ? order by borrowed_at desc, id desc", UUID.class, reader));
+    }
+
+    @Test
+    void filtersActiveAndReturned() {
+        assertThat(bookIds(borrowers.loans(reader, LoanStatus.ACTIVE, null, 10)))
+                .containsExactlyInAnyOrder(copies.get(1), copies.get(3), copies.get(4));
+        CursorResponse<LoanResponse> returned = borrowers.loans(reader, LoanStatus.RETURNED, null, 10);
+        assertThat(bookIds(returned)).containsExactlyInAnyOrder(copies.get(0), copies.get(2));
+        assertThat(returned.content()).allSatisfy(l -> assertThat(l.returnedAt()).isNotNull());
+        assertThat(returned.nextCursor()).isNull();
+    }
+
+    @Test
+    void pageLoadsBooksAndCatalogsInOneSelect() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        stats.setStatisticsEnabled(true);
+        CursorResponse<LoanResponse> page;
+        try {
+            page = borrowers.loans(reader, null, null, 5);
+        } finally {
+            stats.setStatisticsEnabled(false);
+        }
+
+        assertThat(page.content()).hasSize(5).allSatisfy(l -> {
+            assertThat(l.book().title()).startsWith("History Title");
+            assertThat(l.borrower().id()).isEqualTo(reader);
+        });
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsUnknownBorrowerAndMalformedCursor() {
+        assertThatThrownBy(() -> borrowers.loans(UUID.randomUUID(), null, null, 10))
+                .isInstanceOf(BorrowerNotFoundException.class);
+        assertThatThrownBy(() -> borrowers.loans(reader, null, "bm90LWEtY3Vyc29y", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static List<UUID> bookIds(CursorResponse<LoanResponse> page) {
+        return page.content().stream().map(l -> l.book().id()).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.dto.catalog.CatalogResponse;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.web.exception.CatalogNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogServiceTest {
+
+    @Mock
+    private BookCatalogRepository catalogRepository;
+    @InjectMocks
+    private CatalogService service;
+
+    private final CatalogResponse effectiveJava = new CatalogResponse("9780134685991", "Effective Java", "Joshua Bloch", 3, 1);
+
+    @Test
+    void listReadsCountersFromCatalogRows() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        given(catalogRepository.findResponses(true, pageable)).willReturn(new PageImpl<>(List.of(effectiveJava), pageable, 1));
+
+        Page<CatalogResponse> result = service.list(true, pageable);
+
+        assertThat(result.getContent()).containsExactly(effectiveJava);
+    }
+
+    @Test
+    void getNormalizesIsbn() {
+        given(catalogRepository.findResponse(9780134685991L)).willReturn(Optional.of(effectiveJava));
+
+        assertThat(service.get("978-0-13-468599-1").availableCopies()).isEqualTo(1);
+    }
+
+    @Test
+    void getThrowsWhenIsbnUnknown() {
+        given(catalogRepository.findResponse(9780000000002L)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.get("978-0-00-000000-2"))
+                .isInstanceOf(CatalogNotFoundException.class)
+                .hasMessageContaining("9780000000002");
+    }
+
+    @Test
+    void getRejectsTextThatIsNoIsbnWithoutQuerying() {
+        assertThatThrownBy(() -> service.get("BADKEY123"))
+                .isInstanceOf(CatalogNotFoundException.class)
+                .hasMessageContaining("BADKEY123");
+        verifyNoInteractions(catalogRepository);
+    }
+}
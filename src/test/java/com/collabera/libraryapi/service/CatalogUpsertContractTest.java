@@ -0,0 +1,48 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.service.CatalogUpsert.Outcome;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Whatever {@link CatalogUpsert} backend is active, one call must create, match or refuse the catalog
+ * and move its counters accordingly.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogUpsertContractTest {
+    private static final long ISBN = 9781000000047L;
+
+    @Autowired
+    private CatalogUpsert upsert;
+    @Autowired
+    private TransactionTemplate tx;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void createsThenAddsCopiesAndRefusesDifferentMetadata() {
+        assertThat(addCopy("Upsert Title", "Upsert Author")).isEqualTo(Outcome.CREATED);
+        assertThat(addCopy("Upsert Title", "Upsert Author")).isEqualTo(Outcome.ADDED);
+        assertThat(addCopy("Other Title", "Upsert Author")).isEqualTo(Outcome.MISMATCH);
+
+        Map<String, Object> row = jdbc.queryForMap(
+                "select title, created_by, total_copies, available_copies from book_catalog where isbn = ?", ISBN);
+        assertThat(row).containsEntry("TITLE", "Upsert Title")
+                .containsEntry("CREATED_BY", "system")
+                .containsEntry("TOTAL_COPIES", 2)
+                .containsEntry("AVAILABLE_COPIES", 2);
+    }
+
+    private Outcome addCopy(String title, String author) {
+        return tx.execute(status -> upsert.addCopy(ISBN, title, author));
+    }
+}
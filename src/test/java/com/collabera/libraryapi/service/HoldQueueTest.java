@@ -0,0 +1,154 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.hold.HoldCreateRequest;
+import com.collabera.libraryapi.domain.dto.hold.HoldResponse;
+import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
+import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
+import com.collabera.libraryapi.domain.entity.Hold.Status;
+import com.collabera.libraryapi.web.exception.CopyAvailableException;
+import com.collabera.libraryapi.web.exception.HoldAlreadyPlacedException;
+import com.collabera.libraryapi.web.exception.HoldNotWaitingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.collabera.libraryapi.TestFixtures.borrower;
+import static com.collabera.libraryapi.TestFixtures.isbn;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Holds against a real database: queue order, hand-over on return and on new copies, long-poll wake-up. */
+@SpringBootTest
+@ActiveProfiles("test")
+class HoldQueueTest {
+    @Autowired
+    private HoldService holds;
+    @Autowired
+    private LoanService loans;
+    @Autowired
+    private BookService books;
+    @Autowired
+    private BorrowerService borrowers;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private String isbn;
+    private UUID copy;
+    private UUID reader;
+    private UUID first;
+    private UUID second;
+
+    @BeforeEach
+    void seed() {
+        isbn = isbn();
+        copy = addCopy();
+        reader = borrower(borrowers);
+        first = borrower(borrowers);
+        second = borrower(borrowers);
+    }
+
+    @Test
+    void holdNeedsEveryCopyOut() {
+        assertThatThrownBy(() -> place(first)).isInstanceOf(CopyAvailableException.class);
+    }
+
+    @Test
+    void queuesInArrivalOrderOncePerBorrower() {
+        loans.borrow(new LoanCreateRequest(copy, reader));
+
+        HoldResponse a = place(first);
+        HoldResponse b = place(second);
+
+        assertThat(a.status()).isEqualTo(Status.WAITING);
+        assertThat(a.position()).isEqualTo(1);
+        assertThat(b.position()).isEqualTo(2);
+        assertThat(a.isbn()).isEqualTo(isbn);
+        assertThatThrownBy(() -> place(first)).isInstanceOf(HoldAlreadyPlacedException.class);
+    }
+
+    @Test
+    void returnLendsTheCopyToTheOldestHold() {
+        loans.borrow(new LoanCreateRequest(copy, reader));
+        HoldResponse a = place(first);
+        HoldResponse b = place(second);
+
+        LoanResponse returned = loans.returnBook(new LoanCreateRequest(copy, reader));
+
+        HoldResponse served = holds.get(a.id());
+        assertThat(returned.book().borrowed()).isTrue();
+        assertThat(served.status()).isEqualTo(Status.FULFILLED);
+        assertThat(served.position()).isNull();
+        assertThat(served.loanId()).isNotNull();
+        assertThat(served.fulfilledAt()).isEqualTo(returned.returnedAt());
+        assertThat(jdbc.queryForObject("select borrower_id from loans where id = ? and returned_at is null", UUID.class, served.loanId()))
+                .isEqualTo(first);
+        assertThat(jdbc.queryForObject("select available_copies from book_catalog where isbn = ?", Integer.class, Long.parseLong(isbn)))
+                .isZero();
+        assertThat(holds.get(b.id()).position()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledHoldIsSkipped() {
+        loans.borrow(new LoanCreateRequest(copy, reader));
+        HoldResponse a = place(first);
+        HoldResponse b = place(second);
+
+        assertThat(holds.cancel(a.id()).status()).isEqualTo(Status.CANCELLED);
+        assertThatThrownBy(() -> holds.cancel(a.id())).isInstanceOf(HoldNotWaitingException.class);
+        loans.returnBook(new LoanCreateRequest(copy, reader));
+
+        assertThat(holds.get(b.id()).status()).isEqualTo(Status.FULFILLED);
+    }
+
+    @Test
+    void newCopyGoesToTheQueue() {
+        loans.borrow(new LoanCreateRequest(copy, reader));
+        HoldResponse a = place(first);
+
+        UUID added = addCopy();
+
+        HoldResponse served = holds.get(a.id());
+        assertThat(served.status()).isEqualTo(Status.FULFILLED);
+        assertThat(jdbc.queryForObject("select book_id from loans where id = ?", UUID.class, served.loanId())).isEqualTo(added);
+    }
+
+    @Test
+    void longPollWakesOnHandOver() {
+        loans.borrow(new LoanCreateRequest(copy, reader));
+        HoldResponse a = place(first);
+
+        DeferredResult<HoldResponse> poll = holds.await(a.id(), Duration.ofSeconds(30));
+        assertThat(poll.hasResult()).isFalse();
+        loans.returnBook(new LoanCreateRequest(copy, reader));
+
+        assertThat(poll.hasResult()).isTrue();
+        assertThat(((HoldResponse) poll.getResult()).status()).isEqualTo(Status.FULFILLED);
+    }
+
+    @Test
+    void pollOfSettledHoldAnswersAtOnce() {
+        loans.borrow(new LoanCreateRequest(copy, reader));
+        HoldResponse a = place(first);
+        holds.cancel(a.id());
+
+        DeferredResult<HoldResponse> poll = holds.await(a.id(), Duration.ofSeconds(30));
+
+        assertThat(((HoldResponse) poll.getResult()).status()).isEqualTo(Status.CANCELLED);
+    }
+
+    private HoldResponse place(UUID borrowerId) {
+        return holds.place(new HoldCreateRequest(isbn, borrowerId));
+    }
+
+    private UUID addCopy() {
+        return books.create(new BookCreateRequest(isbn, "Hold Title " + isbn, "Hold Author")).id();
+    }
+}
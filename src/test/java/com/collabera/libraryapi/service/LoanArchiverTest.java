@@ -0,0 +1,140 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.core.util.CursorResponse;
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
+import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
+import com.collabera.libraryapi.domain.dto.loan.LoanStatus;
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.domain.repository.SchedulerLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.collabera.libraryapi.TestFixtures.borrower;
+import static com.collabera.libraryapi.TestFixtures.isbn;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The archiver against a real database: what moves, that history still reads it, and the lease. */
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanArchiverTest {
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private BookService books;
+    @Autowired
+    private BorrowerService borrowers;
+    @Autowired
+    private LoanRepository loans;
+    @Autowired
+    private LoanArchive archive;
+    @Autowired
+    private SchedulerLeaseRepository leases;
+    @Autowired
+    private PlatformTransactionManager txManager;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private UUID reader;
+    private List<UUID> copies;
+    private List<UUID> loanIds;
+
+    /** Five loans: two returned two months ago, one returned just now, two still out. */
+    @BeforeEach
+    void seed() {
+        String isbn = isbn();
+        reader = borrower(borrowers);
+        copies = new ArrayList<>();
+        loanIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            copies.add(books.create(new BookCreateRequest(isbn, "Archive Title " + isbn, "Archive Author")).id());
+            loanIds.add(loanService.borrow(new LoanCreateRequest(copies.get(i), reader)).id());
+        }
+        for (int i = 0; i < 3; i++) loanService.returnBook(new LoanCreateRequest(copies.get(i), reader));
+        for (int i = 0; i < 2; i++) {
+            jdbc.update("update loans set borrowed_at = ?, due_at = ?, returned_at = ? where id = ?",
+                    Timestamp.from(Instant.now().minus(Duration.ofDays(70 + i))),
+                    Timestamp.from(Instant.now().minus(Duration.ofDays(56 + i))),
+                    Timestamp.from(Instant.now().minus(Duration.ofDays(60 + i))), loanIds.get(i));
+        }
+    }
+
+    @AfterEach
+    void freeLease() {
+        jdbc.update("update scheduler_leases set owner = null, expires_at = ? where name = ?",
+                Timestamp.from(Instant.EPOCH), LoanArchiver.LEASE);
+    }
+
+    @Test
+    void movesLoansReturnedLongAgoInBatches() {
+        Map<String, Object> before = jdbc.queryForMap(
+                "select book_id, borrower_id, borrowed_at, due_at, returned_at, created_by from loans where id = ?", loanIds.get(0));
+
+        int moved = archiver().archive();
+
+        assertThat(moved).isGreaterThanOrEqualTo(2);
+        assertThat(count("loans", loanIds)).isEqualTo(3);
+        assertThat(count("loans_archive", loanIds.subList(0, 2))).isEqualTo(2);
+        assertThat(jdbc.queryForMap(
+                "select book_id, borrower_id, borrowed_at, due_at, returned_at, created_by from loans_archive where id = ?",
+                loanIds.get(0))).isEqualTo(before);
+        assertThat(registry.get("library.loans.archived").counter().count()).isEqualTo(moved);
+        assertThat(archiver().archive()).isZero();
+    }
+
+    @Test
+    void historyReadsLiveAndArchivedLoans() {
+        archiver().archive();
+
+        List<UUID> seen = new ArrayList<>();
+        String after = null;
+        do {
+            CursorResponse<LoanResponse> page = borrowers.loans(reader, null, after, 2);
+            page.content().forEach(l -> seen.add(l.id()));
+            after = page.nextCursor();
+        } while (after != null);
+        assertThat(seen).containsExactly(loanIds.get(4), loanIds.get(3), loanIds.get(2), loanIds.get(0), loanIds.get(1));
+
+        CursorResponse<LoanResponse> returned = borrowers.loans(reader, LoanStatus.RETURNED, null, 10);
+        assertThat(returned.content()).extracting(LoanResponse::id)
+                .containsExactly(loanIds.get(2), loanIds.get(0), loanIds.get(1));
+        assertThat(returned.content().get(1).book().id()).isEqualTo(copies.get(0));
+    }
+
+    @Test
+    void skipsWhileAnotherInstanceHoldsTheLease() {
+        jdbc.update("update scheduler_leases set owner = 'other-instance', expires_at = ? where name = ?",
+                Timestamp.from(Instant.now().plus(Duration.ofMinutes(1))), LoanArchiver.LEASE);
+
+        assertThat(archiver().archive()).isEqualTo(-1);
+        assertThat(count("loans", loanIds)).isEqualTo(5);
+    }
+
+    /** A separate instance archiving after 30 days, one loan per batch and no throttle. */
+    private LoanArchiver archiver() {
+        return new LoanArchiver(loans, archive, new JobLeases(leases, txManager), txManager, registry,
+                Duration.ofDays(30), 1, Duration.ZERO, Duration.ofMinutes(1));
+    }
+
+    private int count(String table, List<UUID> ids) {
+        return ids.stream()
+                .mapToInt(id -> jdbc.queryForObject("select count(*) from " + table + " where id = ?", Integer.class, id))
+                .sum();
+    }
+}
@@ -2,25 +2,23 @@ package com.collabera.libraryapi.service;
 
 import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
 import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
-import com.collabera.libraryapi.domain.entity.Book;
-import com.collabera.libraryapi.domain.entity.BookCatalog;
-import com.collabera.libraryapi.domain.entity.Borrower;
-import com.collabera.libraryapi.domain.entity.Loan;
+import com.collabera.libraryapi.domain.event.BookAvailabilityChangedEvent;
 import com.collabera.libraryapi.domain.repository.BookRepository;
 import com.collabera.libraryapi.domain.repository.BorrowerRepository;
-import com.collabera.libraryapi.domain.repository.LoanRepository;
-import com.collabera.libraryapi.mapper.LoanMapper;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkout;
 import com.collabera.libraryapi.web.exception.BookAlreadyBorrowedException;
 import com.collabera.libraryapi.web.exception.BookNotFoundException;
 import com.collabera.libraryapi.web.exception.BorrowerNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.time.Instant;
-import java.util.Optional;
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -33,71 +31,103 @@ import static org.mockito.Mockito.*;
 class LoanServiceBorrowTests {
 
     @Mock
-    private LoanRepository loanRepository;
+    private BookCheckout checkout;
     @Mock
-    private BookRepository bookRepository;
+    private BookAvailability availability;
+    @Spy
+    private LoanPolicy policy = new LoanPolicy(Duration.ofDays(14));
+    @Mock
+    private Checkout result;
     @Mock
     private BorrowerRepository borrowerRepository;
     @Mock
-    private LoanMapper mapper;
+    private BookRepository bookRepository;
+    @Mock
+    private ApplicationEventPublisher events;
     @InjectMocks
     private LoanService service;
 
     private final UUID bookId = UUID.randomUUID();
     private final UUID borrowerId = UUID.randomUUID();
+    private final LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
 
     @Test
     void borrowSuccess() {
-        LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
-        Borrower borrower = Borrower.builder().id(borrowerId).name("Sayan").email("sayan@example.com").build();
-        BookCatalog cat = BookCatalog.builder().isbn("9780134685991").title("Effective Java").author("Joshua Bloch").build();
-        Book book = Book.builder().id(bookId).catalog(cat).borrowed(false).version(0L).build();
-        Loan saved = Loan.builder().id(UUID.randomUUID()).book(book).borrower(borrower).borrowedAt(Instant.now()).build();
-
-        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
-        given(bookRepository.getRequired(bookId)).willReturn(book);
-        given(bookRepository.markBorrowedIfAvailable(bookId)).willReturn(1);
-        given(bookRepository.findWithCatalogById(bookId)).willReturn(Optional.of(book));
-        given(loanRepository.save(any(Loan.class))).willReturn(saved);
-        LoanResponse mapped = new LoanResponse(saved.getId(), null, null, saved.getBorrowedAt(), null);
-        given(mapper.toResponse(saved)).willReturn(mapped);
+        ArgumentCaptor<UUID> loanId = ArgumentCaptor.forClass(UUID.class);
+        given(checkout.borrow(loanId.capture(), eq(bookId), eq(borrowerId), any(), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(true);
+        given(result.getBookFound()).willReturn(true);
+        given(result.getBorrowed()).willReturn(true);
+        given(result.getIsbn()).willReturn(9780134685991L);
+        given(result.getTitle()).willReturn("Effective Java");
+        given(result.getAuthor()).willReturn("Joshua Bloch");
+        given(result.getBorrowerName()).willReturn("Sayan");
+        given(result.getBorrowerEmail()).willReturn("sayan@example.com");
 
         LoanResponse response = service.borrow(req);
 
-        assertThat(response.id()).isEqualTo(saved.getId());
-        verify(loanRepository).save(any(Loan.class));
+        assertThat(response.id()).isEqualTo(loanId.getValue());
+        assertThat(response.book().isbn()).isEqualTo("9780134685991");
+        assertThat(response.book().borrowed()).isTrue();
+        assertThat(response.borrower().email()).isEqualTo("sayan@example.com");
+        assertThat(response.borrowedAt()).isNotNull();
+        assertThat(response.dueAt()).isEqualTo(response.borrowedAt().plus(Duration.ofDays(14)));
+        assertThat(response.returnedAt()).isNull();
+        verify(availability).borrowing(bookId);
+        verify(events).publishEvent(BookAvailabilityChangedEvent.of(bookId));
+    }
+
+    @Test
+    void generatesTimeOrderedLoanIds() {
+        given(checkout.borrow(argThat(id -> id.version() == 7), eq(bookId), eq(borrowerId), any(), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(false);
+
+        assertThatThrownBy(() -> service.borrow(req)).isInstanceOf(BorrowerNotFoundException.class);
     }
 
     @Test
     void borrowerNotFound() {
-        LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
-        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.empty());
+        given(checkout.borrow(any(), eq(bookId), eq(borrowerId), any(), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(false);
+
         assertThatThrownBy(() -> service.borrow(req))
                 .isInstanceOf(BorrowerNotFoundException.class);
-        verify(bookRepository, never()).findById(any());
+        verifyNoInteractions(events);
     }
 
     @Test
     void bookNotFound() {
-        LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
-        Borrower borrower = Borrower.builder().id(borrowerId).name("Sayan").email("sayan@example.com").build();
-        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
-        given(bookRepository.getRequired(bookId)).willThrow(new BookNotFoundException(bookId));
+        given(checkout.borrow(any(), eq(bookId), eq(borrowerId), any(), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(true);
+        given(result.getBookFound()).willReturn(false);
+
         assertThatThrownBy(() -> service.borrow(req))
                 .isInstanceOf(BookNotFoundException.class);
+        verifyNoInteractions(events);
     }
 
     @Test
     void alreadyBorrowed() {
-        LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
-        Borrower borrower = Borrower.builder().id(borrowerId).name("Sayan").email("sayan@example.com").build();
-        Book book = Book.builder().id(bookId).catalog(BookCatalog.builder().isbn("X").title("T").author("A").build()).borrowed(false).version(0L).build();
-        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
-        given(bookRepository.getRequired(bookId)).willReturn(book);
-        given(bookRepository.markBorrowedIfAvailable(bookId)).willReturn(0);
+        given(checkout.borrow(any(), eq(bookId), eq(borrowerId), any(), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(true);
+        given(result.getBookFound()).willReturn(true);
+        given(result.getBorrowed()).willReturn(false);
 
         assertThatThrownBy(() -> service.borrow(req))
                 .isInstanceOf(BookAlreadyBorrowedException.class);
-        verify(loanRepository, never()).save(any());
+        verify(availability).taken(bookId);
+        verify(availability, never()).borrowing(any());
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void knownTakenCopyIsRejectedBeforeDatabaseEvenForAnUnknownBorrower() {
+        given(availability.isBorrowed(bookId)).willReturn(true);
+
+        assertThatThrownBy(() -> service.borrow(req))
+                .isInstanceOf(BookAlreadyBorrowedException.class)
+                .hasMessageContaining(bookId.toString());
+        verifyNoInteractions(checkout, borrowerRepository, bookRepository, events);
+        verify(availability, never()).borrowing(any());
     }
 }
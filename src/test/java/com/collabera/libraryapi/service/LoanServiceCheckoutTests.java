@@ -0,0 +1,142 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.dto.loan.CheckoutRequest;
+import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
+import com.collabera.libraryapi.domain.entity.Book;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.entity.Borrower;
+import com.collabera.libraryapi.domain.event.BookAvailabilityChangedEvent;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import com.collabera.libraryapi.domain.repository.BorrowerRepository;
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.web.exception.BookAlreadyBorrowedException;
+import com.collabera.libraryapi.web.exception.BookNotFoundException;
+import com.collabera.libraryapi.web.exception.BorrowerNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanServiceCheckoutTests {
+
+    @Mock
+    private BookAvailability availability;
+    @Spy
+    private LoanPolicy policy = new LoanPolicy(Duration.ofDays(14));
+    @Mock
+    private LoanRepository loanRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookCatalogRepository catalogRepository;
+    @Mock
+    private BorrowerRepository borrowerRepository;
+    @Mock
+    private ApplicationEventPublisher events;
+    @InjectMocks
+    private LoanService service;
+
+    private final UUID borrowerId = UUID.randomUUID();
+    private final Borrower borrower = Borrower.builder().id(borrowerId).name("Sayan").email("sayan@example.com").build();
+    private final BookCatalog java = BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build();
+    private final BookCatalog sci = BookCatalog.builder().isbn(9780306406157L).title("Physics").author("A").build();
+    private final Book first = book(java, false);
+    private final Book second = book(sci, false);
+    private final Book third = book(java, false);
+
+    @Test
+    void borrowsAllAndTakesCountersInIsbnOrder() {
+        List<UUID> ids = List.of(third.getId(), second.getId(), first.getId());
+        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
+        given(bookRepository.lockAllById(ids)).willReturn(List.of(first, second, third));
+        given(catalogRepository.findAllById(anyIterable())).willReturn(List.of(java, sci));
+
+        List<LoanResponse> loans = service.checkout(new CheckoutRequest(borrowerId, ids));
+
+        assertThat(loans).extracting(l -> l.book().id()).containsExactlyElementsOf(ids);
+        assertThat(loans).allSatisfy(l -> assertThat(l.book().borrowed()).isTrue());
+        assertThat(loans.get(1).book().title()).isEqualTo("Physics");
+        InOrder order = inOrder(bookRepository, catalogRepository, loanRepository);
+        order.verify(bookRepository).lockAllById(ids);
+        order.verify(bookRepository).markBorrowed(ids);
+        order.verify(catalogRepository).adjustAvailableByIsbn(9780134685991L, -2);
+        order.verify(catalogRepository).adjustAvailableByIsbn(9780306406157L, -1);
+        order.verify(loanRepository).insertAll(argThat(l -> l.size() == 3
+                && l.stream().allMatch(loan -> loan.getDueAt().equals(loan.getBorrowedAt().plus(Duration.ofDays(14))))), eq(3));
+        ids.forEach(id -> verify(availability).borrowing(id));
+        verify(events).publishEvent(new BookAvailabilityChangedEvent(ids));
+    }
+
+    @Test
+    void borrowerNotFound() {
+        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.checkout(new CheckoutRequest(borrowerId, List.of(first.getId()))))
+                .isInstanceOf(BorrowerNotFoundException.class);
+        verifyNoInteractions(bookRepository, loanRepository);
+        verify(availability, never()).borrowing(any());
+    }
+
+    @Test
+    void missingBookWritesNothing() {
+        UUID missing = UUID.randomUUID();
+        List<UUID> ids = List.of(first.getId(), missing);
+        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
+        given(bookRepository.lockAllById(ids)).willReturn(List.of(first));
+
+        assertThatThrownBy(() -> service.checkout(new CheckoutRequest(borrowerId, ids)))
+                .isInstanceOf(BookNotFoundException.class)
+                .hasMessageContaining(missing.toString());
+        verify(bookRepository, never()).markBorrowed(any());
+        verify(availability, never()).borrowing(any());
+        verifyNoInteractions(catalogRepository, loanRepository, events);
+    }
+
+    @Test
+    void borrowedBookWritesNothing() {
+        Book out = book(sci, true);
+        List<UUID> ids = List.of(first.getId(), out.getId());
+        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
+        given(bookRepository.lockAllById(ids)).willReturn(List.of(first, out));
+
+        assertThatThrownBy(() -> service.checkout(new CheckoutRequest(borrowerId, ids)))
+                .isInstanceOf(BookAlreadyBorrowedException.class)
+                .hasMessageContaining(out.getId().toString());
+        verify(availability).taken(out.getId());
+        verify(availability, never()).borrowing(any());
+        verify(bookRepository, never()).markBorrowed(any());
+        verifyNoInteractions(catalogRepository, loanRepository, events);
+    }
+
+    @Test
+    void knownTakenCopyIsRejectedBeforeDatabase() {
+        given(availability.isBorrowed(any())).willAnswer(inv -> second.getId().equals(inv.getArgument(0)));
+
+        assertThatThrownBy(() -> service.checkout(new CheckoutRequest(borrowerId, List.of(first.getId(), second.getId()))))
+                .isInstanceOf(BookAlreadyBorrowedException.class)
+                .hasMessageContaining(second.getId().toString());
+        verify(availability, never()).borrowing(any());
+        verifyNoInteractions(borrowerRepository, bookRepository, loanRepository);
+    }
+
+    private static Book book(BookCatalog catalog, boolean borrowed) {
+        return Book.builder().id(UUID.randomUUID()).catalog(catalog).borrowed(borrowed).version(0L).build();
+    }
+}
@@ -2,23 +2,23 @@ package com.collabera.libraryapi.service;
 
 import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
 import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
-import com.collabera.libraryapi.domain.entity.*;
-import com.collabera.libraryapi.domain.repository.*;
-import com.collabera.libraryapi.mapper.LoanMapper;
+import com.collabera.libraryapi.domain.event.BookAvailabilityChangedEvent;
+import com.collabera.libraryapi.domain.repository.LoanRepository.Checkin;
 import com.collabera.libraryapi.web.exception.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-// No ArgumentMatchers needed explicitly in this class
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -26,81 +26,100 @@ import static org.mockito.Mockito.*;
 class LoanServiceReturnTests {
 
     @Mock
-    private LoanRepository loanRepository;
+    private BookCheckout checkout;
     @Mock
-    private BookRepository bookRepository;
+    private BookAvailability availability;
     @Mock
-    private BorrowerRepository borrowerRepository;
+    private HoldService holds;
     @Mock
-    private LoanMapper mapper;
+    private Checkin result;
+    @Mock
+    private ApplicationEventPublisher events;
     @InjectMocks
     private LoanService service;
 
     private final UUID bookId = UUID.randomUUID();
     private final UUID borrowerId = UUID.randomUUID();
-    private final UUID otherBorrowerId = UUID.randomUUID();
+    private final LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
 
     @Test
     void returnSuccess() {
-        LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
-        Borrower borrower = Borrower.builder().id(borrowerId).name("Sayan").email("sayan@example.com").build();
-        BookCatalog catalog = BookCatalog.builder().isbn("9780134685991").title("Effective Java").author("Joshua Bloch").build();
-        Book book = Book.builder().id(bookId).catalog(catalog).borrowed(true).version(0L).build();
-        Loan active = Loan.builder().id(UUID.randomUUID()).book(book).borrower(borrower).borrowedAt(Instant.now().minusSeconds(3600)).returnedAt(null).build();
-
-        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
-        given(bookRepository.findById(bookId)).willReturn(Optional.of(book));
-        given(loanRepository.findByBookIdAndReturnedAtIsNull(bookId)).willReturn(Optional.of(active));
-        given(bookRepository.findWithCatalogById(bookId)).willReturn(Optional.of(book));
-        given(mapper.toResponse(active)).willAnswer(inv -> {
-            Loan l = inv.getArgument(0);
-            return new LoanResponse(l.getId(), null, null, l.getBorrowedAt(), l.getReturnedAt());
-        });
+        UUID loanId = UUID.randomUUID();
+        Instant borrowedAt = Instant.now().minusSeconds(3600);
+        given(checkout.returnBook(eq(bookId), eq(borrowerId), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(true);
+        given(result.getBookFound()).willReturn(true);
+        given(result.getLoanId()).willReturn(loanId.toString());
+        given(result.getBorrowedAt()).willReturn(borrowedAt);
+        given(result.getIsbn()).willReturn(9780134685991L);
+        given(result.getTitle()).willReturn("Effective Java");
+        given(result.getAuthor()).willReturn("Joshua Bloch");
+        given(result.getBorrowerName()).willReturn("Sayan");
+        given(result.getBorrowerEmail()).willReturn("sayan@example.com");
 
         LoanResponse resp = service.returnBook(req);
-        assertThat(resp.returnedAt()).isNotNull();
-        verify(bookRepository).markReturned(bookId);
+
+        assertThat(resp.id()).isEqualTo(loanId);
+        assertThat(resp.borrowedAt()).isEqualTo(borrowedAt);
+        assertThat(resp.returnedAt()).isAfter(borrowedAt);
+        assertThat(resp.book().borrowed()).isFalse();
+        assertThat(resp.book().isbn()).isEqualTo("9780134685991");
+        verify(events).publishEvent(BookAvailabilityChangedEvent.of(bookId));
+        verify(availability).released(bookId);
+    }
+
+    @Test
+    void returnHandsCopyToWaitingHold() {
+        given(checkout.returnBook(eq(bookId), eq(borrowerId), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(true);
+        given(result.getBookFound()).willReturn(true);
+        given(result.getLoanId()).willReturn(UUID.randomUUID().toString());
+        given(result.getIsbn()).willReturn(9780134685991L);
+        given(holds.handOver(eq(bookId), eq(9780134685991L), any())).willReturn(true);
+
+        LoanResponse resp = service.returnBook(req);
+
+        assertThat(resp.book().borrowed()).isTrue();
+        verify(availability, never()).released(any());
     }
 
     @Test
     void borrowerNotFound() {
-        LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
-        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.empty());
+        given(checkout.returnBook(eq(bookId), eq(borrowerId), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(false);
         assertThatThrownBy(() -> service.returnBook(req)).isInstanceOf(BorrowerNotFoundException.class);
+        verifyNoInteractions(events);
     }
 
     @Test
     void bookNotFound() {
-        LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
-        Borrower borrower = Borrower.builder().id(borrowerId).name("Sayan").email("sayan@example.com").build();
-        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
-        given(bookRepository.findById(bookId)).willReturn(Optional.empty());
+        given(checkout.returnBook(eq(bookId), eq(borrowerId), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(true);
+        given(result.getBookFound()).willReturn(false);
         assertThatThrownBy(() -> service.returnBook(req)).isInstanceOf(BookNotFoundException.class);
+        verifyNoInteractions(events);
     }
 
     @Test
     void noActiveLoan() {
-        LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
-        Borrower borrower = Borrower.builder().id(borrowerId).name("Sayan").email("sayan@example.com").build();
-        Book book = Book.builder().id(bookId).catalog(BookCatalog.builder().isbn("X").title("T").author("A").build()).borrowed(true).version(0L).build();
-        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
-        given(bookRepository.findById(bookId)).willReturn(Optional.of(book));
-        given(loanRepository.findByBookIdAndReturnedAtIsNull(bookId)).willReturn(Optional.empty());
+        given(checkout.returnBook(eq(bookId), eq(borrowerId), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(true);
+        given(result.getBookFound()).willReturn(true);
+        given(result.getLoanId()).willReturn(null);
+        given(result.getLentToOther()).willReturn(false);
         assertThatThrownBy(() -> service.returnBook(req)).isInstanceOf(ActiveLoanNotFoundException.class);
+        verifyNoInteractions(events);
     }
 
     @Test
     void wrongBorrower() {
-        LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
-        Borrower borrower = Borrower.builder().id(borrowerId).name("Sayan").email("sayan@example.com").build();
-        Borrower other = Borrower.builder().id(otherBorrowerId).name("Other").email("other@example.com").build();
-        Book book = Book.builder().id(bookId).catalog(BookCatalog.builder().isbn("X").title("T").author("A").build()).borrowed(true).version(0L).build();
-        Loan active = Loan.builder().id(UUID.randomUUID()).book(book).borrower(other).borrowedAt(Instant.now()).build();
-
-        given(borrowerRepository.findById(borrowerId)).willReturn(Optional.of(borrower));
-        given(bookRepository.findById(bookId)).willReturn(Optional.of(book));
-        given(loanRepository.findByBookIdAndReturnedAtIsNull(bookId)).willReturn(Optional.of(active));
+        given(checkout.returnBook(eq(bookId), eq(borrowerId), any())).willReturn(result);
+        given(result.getBorrowerFound()).willReturn(true);
+        given(result.getBookFound()).willReturn(true);
+        given(result.getLoanId()).willReturn(null);
+        given(result.getLentToOther()).willReturn(true);
 
         assertThatThrownBy(() -> service.returnBook(req)).isInstanceOf(WrongBorrowerException.class);
+        verifyNoInteractions(events, availability);
     }
 }
@@ -0,0 +1,119 @@
+package com.collabera.libraryapi.service;
+
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
+import com.collabera.libraryapi.domain.repository.LoanRepository;
+import com.collabera.libraryapi.domain.repository.SchedulerLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.collabera.libraryapi.TestFixtures.borrower;
+import static com.collabera.libraryapi.TestFixtures.isbn;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The overdue scan against a real database: chunked flagging, the lease, and its metrics. */
+@SpringBootTest
+@ActiveProfiles("test")
+class OverdueScannerTest {
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private BookService books;
+    @Autowired
+    private BorrowerService borrowers;
+    @Autowired
+    private LoanRepository loans;
+    @Autowired
+    private SchedulerLeaseRepository leases;
+    @Autowired
+    private AuditorAware<String> auditorAware;
+    @Autowired
+    private PlatformTransactionManager txManager;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private List<UUID> copies;
+
+    /** Five loans: three overdue, one overdue but returned, one not yet due. */
+    @BeforeEach
+    void seed() {
+        String isbn = isbn();
+        UUID reader = borrower(borrowers);
+        copies = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            copies.add(books.create(new BookCreateRequest(isbn, "Overdue Title " + isbn, "Overdue Author")).id());
+            loanService.borrow(new LoanCreateRequest(copies.get(i), reader));
+        }
+        loanService.returnBook(new LoanCreateRequest(copies.get(3), reader));
+        Timestamp past = Timestamp.from(Instant.now().minus(Duration.ofDays(3)));
+        jdbc.update("update loans set borrowed_at = ?, due_at = ? where book_id in (?, ?, ?, ?)",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(20))), past,
+                copies.get(0), copies.get(1), copies.get(2), copies.get(3));
+    }
+
+    @AfterEach
+    void freeLease() {
+        jdbc.update("update scheduler_leases set owner = null, expires_at = ? where name = ?",
+                Timestamp.from(Instant.EPOCH), OverdueScanner.LEASE);
+    }
+
+    @Test
+    void flagsOverdueLoansInChunksOnce() {
+        int flagged = scanner().scan();
+
+        assertThat(flagged).isGreaterThanOrEqualTo(3);
+        assertThat(overdueAt(copies.get(0))).isNotNull();
+        assertThat(overdueAt(copies.get(1))).isNotNull();
+        assertThat(overdueAt(copies.get(2))).isNotNull();
+        assertThat(overdueAt(copies.get(3))).as("returned").isNull();
+        assertThat(overdueAt(copies.get(4))).as("not yet due").isNull();
+        assertThat(registry.get("library.loans.overdue.flagged").counter().count()).isEqualTo(flagged);
+        assertThat(registry.get("library.loans.overdue.lag").gauge().value()).isGreaterThanOrEqualTo(Duration.ofDays(3).toSeconds());
+
+        Timestamp first = overdueAt(copies.get(0));
+        assertThat(scanner().scan()).isZero();
+        assertThat(overdueAt(copies.get(0))).isEqualTo(first);
+    }
+
+    @Test
+    void skipsWhileAnotherInstanceHoldsTheLease() {
+        jdbc.update("update scheduler_leases set owner = 'other-instance', expires_at = ? where name = ?",
+                Timestamp.from(Instant.now().plus(Duration.ofMinutes(1))), OverdueScanner.LEASE);
+
+        assertThat(scanner().scan()).isEqualTo(-1);
+        assertThat(overdueAt(copies.get(0))).isNull();
+    }
+
+    @Test
+    void releasesTheLeaseWhenDone() {
+        scanner().scan();
+
+        assertThat(scanner().scan()).as("another instance right after").isNotNegative();
+    }
+
+    /** A separate instance with chunks of two and no throttle, so every scan here takes several chunks. */
+    private OverdueScanner scanner() {
+        return new OverdueScanner(loans, new JobLeases(leases, txManager), auditorAware, txManager, registry,
+                2, Duration.ZERO, Duration.ofMinutes(1));
+    }
+
+    private Timestamp overdueAt(UUID bookId) {
+        return jdbc.queryForObject("select overdue_at from loans where book_id = ?", Timestamp.class, bookId);
+    }
+}
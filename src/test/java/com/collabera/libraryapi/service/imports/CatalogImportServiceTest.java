@@ -0,0 +1,201 @@
+package com.collabera.libraryapi.service.imports;
+
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.book.BulkBookCreateResponse;
+import com.collabera.libraryapi.domain.dto.book.BulkItemResult;
+import com.collabera.libraryapi.domain.dto.imports.ImportJobResponse;
+import com.collabera.libraryapi.domain.dto.imports.ImportJobResponse.Status;
+import com.collabera.libraryapi.domain.dto.imports.ImportRowError;
+import com.collabera.libraryapi.service.BookExportService.Format;
+import com.collabera.libraryapi.service.BookIngestService;
+import com.collabera.libraryapi.web.exception.ImportJobNotFoundException;
+import com.collabera.libraryapi.web.exception.InvalidImportFileException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.assertj.core.groups.Tuple;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.collabera.libraryapi.core.constants.ErrorCodes.ISBN_METADATA_MISMATCH;
+import static com.collabera.libraryapi.core.constants.ErrorCodes.VALIDATION_ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@Timeout(10)
+class CatalogImportServiceTest {
+
+    @Mock
+    private BookIngestService ingest;
+    @TempDir
+    private Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<BookCreateRequest> ingested = new ArrayList<>();
+    private CatalogImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CatalogImportService(ingest, objectMapper, 2, 2, 200, 1, 10, 1, Duration.ofHours(1));
+        lenient().when(ingest.ingest(any())).thenAnswer(inv -> {
+            List<BookCreateRequest> items = inv.getArgument(0);
+            synchronized (ingested) {
+                ingested.addAll(items);
+            }
+            return BulkBookCreateResponse.of(IntStream.range(0, items.size())
+                    .mapToObj(i -> BulkItemResult.created(i, items.get(i).isbn(), UUID.randomUUID())).toList());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void csvRowsAreParsedAndIngestedInChunks() throws IOException {
+        ImportJob job = run(Format.CSV, """
+                id,Author,isbn,title,borrowed
+                x,Joshua Bloch,978-0-13-468599-1,Effective Java,false
+
+                x,Craig Walls,9781617294945,"Spring in Action, \"\"5th\"\"",false
+                x,Brian Goetz,9780321349606,"Java Concurrency
+                in Practice",false
+                x,too,short
+                x,Robert Martin,9780132350884,Clean Code,false
+                """);
+
+        ImportJobResponse status = job.toResponse();
+        assertThat(status.status()).isEqualTo(Status.COMPLETED);
+        assertThat(status.rowsRead()).isEqualTo(5);
+        assertThat(status.imported()).isEqualTo(4);
+        assertThat(status.rejected()).isEqualTo(1);
+        assertThat(status.errors()).singleElement().satisfies(e -> {
+            assertThat(e.line()).isEqualTo(7);
+            assertThat(e.code()).isEqualTo(VALIDATION_ERROR);
+        });
+        assertThat(ingested).containsExactlyInAnyOrder(
+                new BookCreateRequest("978-0-13-468599-1", "Effective Java", "Joshua Bloch"),
+                new BookCreateRequest("9781617294945", "Spring in Action, \"5th\"", "Craig Walls"),
+                new BookCreateRequest("9780321349606", "Java Concurrency\nin Practice", "Brian Goetz"),
+                new BookCreateRequest("9780132350884", "Clean Code", "Robert Martin"));
+    }
+
+    @Test
+    void invalidAndRejectedRowsAreReportedWithTheirLines() throws IOException {
+        doAnswer(inv -> {
+            List<BookCreateRequest> items = inv.getArgument(0);
+            return BulkBookCreateResponse.of(IntStream.range(0, items.size()).mapToObj(i -> items.get(i).isbn().equals("BAD")
+                    ? BulkItemResult.rejected(i, "BAD", VALIDATION_ERROR, "isbn: Invalid ISBN-10/13 format")
+                    : items.get(i).title().equals("Other")
+                    ? BulkItemResult.rejected(i, items.get(i).isbn(), ISBN_METADATA_MISMATCH, "mismatch")
+                    : BulkItemResult.created(i, items.get(i).isbn(), UUID.randomUUID())).toList());
+        }).when(ingest).ingest(any());
+
+        ImportJob job = run(Format.NDJSON, """
+                {"isbn":"9780134685991","title":"Effective Java","author":"Joshua Bloch","borrowed":false}
+                {"isbn":"BAD","title":"T","author":"A"}
+                {"isbn":
+                {"isbn":"9780134685991","title":"Other","author":"Joshua Bloch"}
+                """);
+
+        ImportJobResponse status = job.toResponse();
+        assertThat(status.status()).isEqualTo(Status.COMPLETED);
+        assertThat(status.imported()).isEqualTo(1);
+        assertThat(status.errors()).extracting(ImportRowError::line, ImportRowError::code).containsExactlyInAnyOrder(
+                Tuple.tuple(2L, VALIDATION_ERROR),
+                Tuple.tuple(3L, VALIDATION_ERROR),
+                Tuple.tuple(4L, ISBN_METADATA_MISMATCH));
+    }
+
+    @Test
+    void unterminatedQuoteCostsOneRowAndReadingResumesAfterTheLengthCap() throws IOException {
+        String row = "9780132350884,Clean Code,Robert Martin\n";
+        ImportJob job = run(Format.CSV, "isbn,title,author\n"
+                + "9780134685991,\"Effective Java,Joshua Bloch\n"
+                + row.repeat(9));
+
+        // line 2 opens a quote and swallows lines 3-7 until the record passes 200 characters
+        ImportJobResponse status = job.toResponse();
+        assertThat(status.status()).isEqualTo(Status.COMPLETED);
+        assertThat(status.rowsRead()).isEqualTo(5);
+        assertThat(status.imported()).isEqualTo(4);
+        assertThat(status.errors()).singleElement().satisfies(e -> {
+            assertThat(e.line()).isEqualTo(2);
+            assertThat(e.code()).isEqualTo(VALIDATION_ERROR);
+            assertThat(e.message()).contains("longer than 200 characters", "unterminated");
+        });
+    }
+
+    @Test
+    void writerFailureStopsTheJobAndKeepsCommittedChunks() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(inv -> {
+            if (calls.incrementAndGet() > 1) throw new IllegalStateException("connection lost");
+            List<BookCreateRequest> items = inv.getArgument(0);
+            return BulkBookCreateResponse.of(IntStream.range(0, items.size())
+                    .mapToObj(i -> BulkItemResult.created(i, items.get(i).isbn(), UUID.randomUUID())).toList());
+        }).when(ingest).ingest(any());
+        StringBuilder csv = new StringBuilder("isbn,title,author\n");
+        // ISBN-10s: any 9 digits plus their mod-11 check character
+        for (int i = 0; i < 200; i++) {
+            String first9 = String.format("%09d", i);
+            int sum = 0;
+            for (int d = 0; d < 9; d++) sum += (first9.charAt(d) - '0') * (10 - d);
+            int check = (11 - sum % 11) % 11;
+            csv.append(first9).append(check == 10 ? "X" : String.valueOf(check)).append(",T,A\n");
+        }
+
+        ImportJob job = run(Format.CSV, csv.toString());
+
+        ImportJobResponse status = job.toResponse();
+        assertThat(status.status()).isEqualTo(Status.FAILED);
+        assertThat(status.failure()).contains("connection lost");
+        assertThat(status.imported()).isEqualTo(2);
+        assertThat(status.rowsRead()).isLessThan(200);
+        assertThat(status.finishedAt()).isNotNull();
+    }
+
+    @Test
+    void startRejectsCsvWithoutRequiredColumnsAndFreesTheSlot() {
+        MockMultipartFile bad = new MockMultipartFile("file", "books.csv", "text/csv", "isbn,name\n1,x\n".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> service.start(bad, Format.CSV)).isInstanceOf(InvalidImportFileException.class);
+
+        MockMultipartFile good = new MockMultipartFile("file", "books.csv", "text/csv", "isbn,title,author\n".getBytes(StandardCharsets.UTF_8));
+        ImportJobResponse started = service.start(good, Format.CSV);
+        assertThat(service.status(started.id()).id()).isEqualTo(started.id());
+    }
+
+    @Test
+    void statusOfUnknownJobIsNotFound() {
+        assertThatThrownBy(() -> service.status(UUID.randomUUID())).isInstanceOf(ImportJobNotFoundException.class);
+    }
+
+    private ImportJob run(Format format, String content) throws IOException {
+        Path file = Files.writeString(dir.resolve("import." + format.getExtension()), content);
+        ImportRecordParser parser = ImportRecordParser.of(format, content.lines().findFirst().orElse(null), objectMapper);
+        ImportJob job = new ImportJob(format, 10);
+        service.run(job, file, parser);
+        return job;
+    }
+}
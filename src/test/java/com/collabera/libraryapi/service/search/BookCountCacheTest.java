@@ -0,0 +1,35 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.domain.event.BooksAddedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookCountCacheTest {
+
+    private final BookCountCache cache = new BookCountCache(100, Duration.ofMinutes(1));
+
+    @Test
+    void countsOncePerNormalizedTerm() {
+        AtomicInteger calls = new AtomicInteger();
+        assertThat(cache.get("Java", () -> { calls.incrementAndGet(); return 3; })).isEqualTo(3);
+        assertThat(cache.get("JAVA", () -> { calls.incrementAndGet(); return 99; })).isEqualTo(3);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void addedBooksEvictOnlyMatchingTermsAndTheUnfilteredCount() {
+        cache.get(null, () -> 10);
+        cache.get("java", () -> 3);
+        cache.get("clean", () -> 1);
+
+        cache.onBooksAdded(BooksAddedEvent.of("9780596009205", "Head First Java", "Kathy Sierra"));
+
+        assertThat(cache.get("", () -> 11)).isEqualTo(11);
+        assertThat(cache.get("java", () -> 4)).isEqualTo(4);
+        assertThat(cache.get("clean", () -> 99)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.event.BookAvailabilityChangedEvent;
+import com.collabera.libraryapi.domain.event.BooksAddedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookPageCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BookPageCache cache = new BookPageCache(registry, 1_000, Duration.ofMinutes(1));
+
+    private final BookResponse effectiveJava = new BookResponse(UUID.randomUUID(), "9780134685991", "Effective Java", "Joshua Bloch", false);
+    private final BookResponse cleanCode = new BookResponse(UUID.randomUUID(), "9780132350884", "Clean Code", "Robert Martin", false);
+    private final PageRequest first = PageRequest.of(0, 10, Sort.by("catalog.title"));
+
+    @Test
+    void servesRepeatedPagesPerNormalizedKeyAndRecordsHits() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("Java", first, () -> page(loads, effectiveJava));
+        cache.get("JAVA", first, () -> page(loads, effectiveJava));
+        cache.get("java", PageRequest.of(1, 10, Sort.by("catalog.title")), () -> page(loads));
+
+        assertThat(loads).hasValue(2);
+        assertThat(registry.get("cache.gets").tag("cache", "books.page").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void addedBooksEvictOnlyMatchingTerms() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("java", first, () -> page(loads, effectiveJava));
+        cache.get("clean", first, () -> page(loads, cleanCode));
+
+        cache.onBooksAdded(BooksAddedEvent.of("9780596009205", "Head First Java", "Kathy Sierra"));
+        cache.get("java", first, () -> page(loads, effectiveJava));
+        cache.get("clean", first, () -> page(loads, cleanCode));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void availabilityChangeEvictsOnlyPagesContainingTheBook() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("java", first, () -> page(loads, effectiveJava));
+        cache.get("clean", first, () -> page(loads, cleanCode));
+
+        cache.onAvailabilityChanged(BookAvailabilityChangedEvent.of(cleanCode.id()));
+        cache.get("java", first, () -> page(loads, effectiveJava));
+        cache.get("clean", first, () -> page(loads, cleanCode));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void pageLoadedWhileAWriteCommittedIsNotKept() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("java", first, () -> {
+            cache.onAvailabilityChanged(BookAvailabilityChangedEvent.of(UUID.randomUUID()));
+            return page(loads, effectiveJava);
+        });
+        cache.get("java", first, () -> page(loads, effectiveJava));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Page<BookResponse> page(AtomicInteger loads, BookResponse... rows) {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of(rows), first, rows.length);
+    }
+}
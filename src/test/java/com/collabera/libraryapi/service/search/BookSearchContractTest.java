@@ -0,0 +1,77 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.core.util.CursorResponse;
+import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.entity.Book;
+import com.collabera.libraryapi.domain.repository.BookRepository;
+import com.collabera.libraryapi.service.BookService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Whatever {@link CatalogSearch} backend is active, listing must return exactly the rows the
+ * portable {@code BookRepository.bySearch} predicate selects.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookSearchContractTest {
+    private static final PageRequest PAGE = PageRequest.of(0, 100, Sort.by("catalog.title", "id"));
+
+    @Autowired
+    private BookService service;
+    @Autowired
+    private BookRepository books;
+
+    @BeforeAll
+    void seed() {
+        service.create(new BookCreateRequest("9781000000016", "Zephyr Quartz Patterns", "Ada Zephyrine"));
+        service.create(new BookCreateRequest("9781000000016", "Zephyr Quartz Patterns", "Ada Zephyrine"));
+        service.create(new BookCreateRequest("9781000000023", "The Quartz Handbook", "Zed Quill"));
+        service.create(new BookCreateRequest("9781000000030", "Gardening", "Zephyr Moss"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"zephyr", "ZEPHYR", "quartz", "quartz h", "zed q", "1000000023", "e", "zz", "nomatchxyz"})
+    void listMatchesSqlPredicate(String term) {
+        var expected = books.findAll(BookRepository.bySearch(term), PAGE).map(Book::getId).getContent();
+        var actual = service.list(term, PAGE).map(BookResponse::id).getContent();
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"zephyr", "quartz"})
+    void relevanceReturnsTheSameRows(String term) {
+        var expected = books.findAll(BookRepository.bySearch(term), PAGE).map(Book::getId).getContent();
+        var ranked = service.list(term, PageRequest.of(0, 100, Sort.by(BookService.RELEVANCE))).map(BookResponse::id).getContent();
+        assertThat(ranked).containsExactlyInAnyOrderElementsOf(expected).doesNotContain((UUID) null);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"zephyr", "quartz"})
+    void cursorWalksTheSameRowsOnePerPage(String term) {
+        var expected = books.findAll(BookRepository.bySearch(term), PAGE).map(Book::getId).getContent();
+        List<UUID> walked = new ArrayList<>();
+        String after = null;
+        do {
+            CursorResponse<BookResponse> page = service.scroll(term, after, 1);
+            page.content().forEach(b -> walked.add(b.id()));
+            after = page.nextCursor();
+        } while (after != null);
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,97 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookSearchIndexTest {
+
+    private BookCatalogRepository catalogs;
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        catalogs = mock(BookCatalogRepository.class);
+        when(catalogs.findAll()).thenReturn(List.of(
+                BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build(),
+                BookCatalog.builder().isbn(9780596009205L).title("Head First Java").author("Kathy Sierra").build(),
+                BookCatalog.builder().isbn(9780132350884L).title("Clean Code").author("Robert C. Martin").build()));
+        index = new BookSearchIndex(catalogs, 2);
+    }
+
+    @Test
+    void notReadyUntilLoaded() {
+        assertThat(index.search("java")).isEmpty();
+        index.load();
+        assertThat(index.search("java")).contains(List.of("9780134685991", "9780596009205"));
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource({
+            "JAVA, 2",
+            "bloch, 1",
+            "ective ja, 1",
+            "685991, 1",
+            "c., 1",
+            "zzz, 0",
+            "va x, 0"
+    })
+    void matchesSubstringsAcrossFieldsCaseInsensitively(String term, int expected) {
+        index.load();
+        assertThat(index.search(term)).hasValueSatisfying(isbns -> assertThat(isbns).hasSize(expected));
+    }
+
+    @Test
+    void givesUpWhenCandidatesExceedLimit() {
+        index.load();
+        assertThat(index.search("978")).isEmpty();
+        assertThat(index.search("e")).isEmpty();
+    }
+
+    @Test
+    void addIsIdempotentAndVisibleToSearch() {
+        index.load();
+        index.add("9781617294945", "Spring in Action", "Craig Walls");
+        index.add("9781617294945", "Spring in Action", "Craig Walls");
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.search("spring")).contains(List.of("9781617294945"));
+    }
+
+    @Test
+    void rankOrdersByBm25AndKeepsOnlyTopK() {
+        index = new BookSearchIndex(catalogs, 100);
+        index.load();
+        index.add("9781617294945", "Spring in Action", "Craig Walls");
+        index.add("9781935182962", "Java Java Java", "Anon Author");
+
+        // Title hits beat author-only hits; repeated terms beat single ones; shorter docs beat longer
+        assertThat(index.rank("java", 10)).contains(List.of("9781935182962", "9780134685991", "9780596009205"));
+        assertThat(index.rank("java", 1)).contains(List.of("9781935182962"));
+        // Substring-only matches stay in the result, after scored ones
+        assertThat(index.rank("a", 10)).hasValueSatisfying(isbns -> assertThat(isbns).hasSize(5));
+    }
+
+    @Test
+    void rankScoresHalfTypedLastWord() {
+        index = new BookSearchIndex(catalogs, 100);
+        index.load();
+        assertThat(index.rank("clean co", 5)).contains(List.of("9780132350884"));
+        assertThat(index.rank("bloch", 5)).contains(List.of("9780134685991"));
+    }
+
+    @Test
+    void rankDefersWhenTopKExceedsCandidateBound() {
+        index.load();
+        assertThat(index.rank("java", 3)).isEmpty();
+        assertThat(index.rank("java", 2)).hasValueSatisfying(isbns -> assertThat(isbns).hasSize(2));
+    }
+}
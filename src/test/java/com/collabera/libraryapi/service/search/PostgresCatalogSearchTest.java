@@ -0,0 +1,30 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PostgresCatalogSearchTest {
+
+    private final BookCatalogRepository catalogs = mock(BookCatalogRepository.class);
+    private final PostgresCatalogSearch search = new PostgresCatalogSearch(catalogs, 2);
+
+    @Test
+    void plainSearchLeavesTheFilterToTheSqlPredicate() {
+        assertThat(search.search("Java")).isEmpty();
+        verifyNoInteractions(catalogs);
+    }
+
+    @Test
+    void rankPassesLowerCasedTermAndLikePatternAndLimitsToTopK() {
+        when(catalogs.searchRanked("e", "%e%", 2)).thenReturn(List.of("b", "a"));
+        assertThat(search.rank("E", 2)).contains(List.of("b", "a"));
+        assertThat(search.rank("e", 3)).isEmpty();
+    }
+}
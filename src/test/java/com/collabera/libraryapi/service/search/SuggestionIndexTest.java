@@ -0,0 +1,59 @@
+package com.collabera.libraryapi.service.search;
+
+import com.collabera.libraryapi.domain.dto.book.BookSuggestion;
+import com.collabera.libraryapi.domain.entity.BookCatalog;
+import com.collabera.libraryapi.domain.event.CatalogCreatedEvent;
+import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.collabera.libraryapi.domain.dto.book.BookSuggestion.Kind.AUTHOR;
+import static com.collabera.libraryapi.domain.dto.book.BookSuggestion.Kind.TITLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        BookCatalogRepository catalogs = mock(BookCatalogRepository.class);
+        when(catalogs.findAll()).thenReturn(List.of(
+                BookCatalog.builder().isbn(9780134685991L).title("Effective Java").author("Joshua Bloch").build(),
+                BookCatalog.builder().isbn(9780596009205L).title("Head First Java").author("Kathy Sierra").build(),
+                BookCatalog.builder().isbn(9780321349606L).title("Java Concurrency in Practice").author("Brian Goetz").build(),
+                BookCatalog.builder().isbn(9780132350884L).title("Clean Code").author("Robert C. Martin").build()));
+        index = new SuggestionIndex(catalogs);
+        index.load();
+    }
+
+    @Test
+    void matchesAnyWordStartCaseInsensitivelyWithoutDuplicates() {
+        assertThat(index.suggest("JAV", 10)).extracting(BookSuggestion::text)
+                .containsExactly("Effective Java", "Head First Java", "Java Concurrency in Practice");
+        assertThat(index.suggest("java c", 10)).containsExactly(new BookSuggestion("Java Concurrency in Practice", TITLE));
+    }
+
+    @Test
+    void suggestsAuthorsAndRespectsLimit() {
+        assertThat(index.suggest("bl", 10)).containsExactly(new BookSuggestion("Joshua Bloch", AUTHOR));
+        assertThat(index.suggest("c", 2)).hasSize(2);
+    }
+
+    @Test
+    void doesNotMatchInsideWords() {
+        assertThat(index.suggest("ava", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void newCatalogsBecomeSuggestible() {
+        index.onCatalogCreated(new CatalogCreatedEvent("9781617294945", "Spring in Action", "Craig Walls"));
+
+        assertThat(index.suggest("spr", 10)).containsExactly(new BookSuggestion("Spring in Action", TITLE));
+    }
+}
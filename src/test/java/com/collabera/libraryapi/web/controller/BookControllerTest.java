@@ -1,10 +1,18 @@
 package com.collabera.libraryapi.web.controller;
 
+import com.collabera.libraryapi.core.util.CursorResponse;
 import com.collabera.libraryapi.domain.dto.book.BookCreateRequest;
 import com.collabera.libraryapi.domain.dto.book.BookResponse;
+import com.collabera.libraryapi.domain.dto.book.BookSuggestion;
+import com.collabera.libraryapi.domain.dto.book.BulkBookCreateRequest;
+import com.collabera.libraryapi.domain.dto.book.BulkBookCreateResponse;
+import com.collabera.libraryapi.domain.dto.book.BulkItemResult;
 import com.collabera.libraryapi.domain.repository.BookCatalogRepository;
+import com.collabera.libraryapi.service.BookExportService;
+import com.collabera.libraryapi.service.BookIngestService;
 import com.collabera.libraryapi.service.BookService;
 import com.collabera.libraryapi.web.exception.ApiError;
+import com.collabera.libraryapi.web.exception.InvalidCursorException;
 import com.collabera.libraryapi.web.exception.IsbnMetadataMismatchException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +25,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
@@ -25,12 +34,18 @@ import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -38,11 +53,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class BookControllerTest extends BaseMockMvcTest {
     @MockBean
     private BookService bookService;
+    @MockBean
+    private BookExportService exportService;
+    @MockBean
+    private BookIngestService ingestService;
 
     private static Stream<Arguments> invalidCreatePayloads() {
         return Stream.of(
                 Arguments.of(new BookCreateRequest("", "Title", "Author"), "isbn: ISBN cannot be blank"),
                 Arguments.of(new BookCreateRequest("BAD", "Title", "Author"), "isbn: Invalid ISBN-10/13 format"),
+                Arguments.of(new BookCreateRequest("9780134685992", "Title", "Author"), "isbn: Invalid ISBN-10/13 format"),
                 Arguments.of(new BookCreateRequest("9780134685991", "", "Author"), "title: Title cannot be blank"),
                 Arguments.of(new BookCreateRequest("9780134685991", "Title", ""), "author: Author cannot be blank")
         );
@@ -63,6 +83,36 @@ class BookControllerTest extends BaseMockMvcTest {
         assertThat(actual).usingRecursiveComparison().isEqualTo(resp);
     }
 
+    @Test
+    void bulkCreate_200_perItemResults() throws Exception {
+        UUID id = UUID.randomUUID();
+        BulkBookCreateRequest req = new BulkBookCreateRequest(List.of(
+                new BookCreateRequest("9780134685991", "Effective Java", "Joshua Bloch"),
+                new BookCreateRequest("9780134685991", "Other", "Joshua Bloch")));
+        BulkBookCreateResponse resp = BulkBookCreateResponse.of(List.of(
+                BulkItemResult.created(0, "9780134685991", id),
+                BulkItemResult.rejected(1, "9780134685991", "ISBN_METADATA_MISMATCH", "ISBN metadata mismatch")));
+        given(ingestService.ingest(req.items())).willReturn(resp);
+
+        MvcResult result = mockMvc.perform(post("/api/v1/books/bulk")
+                        .contentType(json()).content(toJson(req)))
+                .andExpect(status().isOk())
+                .andReturn();
+        BulkBookCreateResponse actual = fromJson(result.getResponse().getContentAsString(), BulkBookCreateResponse.class);
+        assertThat(actual).usingRecursiveComparison().isEqualTo(resp);
+    }
+
+    @Test
+    void bulkCreate_400_emptyItems() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/books/bulk")
+                        .contentType(json()).content(toJson(new BulkBookCreateRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.message()).contains("items: Items cannot be empty");
+        verify(ingestService, never()).ingest(any());
+    }
+
     @ParameterizedTest
     @MethodSource("invalidCreatePayloads")
     void create_400_validation(BookCreateRequest req, String expectedMsgPart) throws Exception {
@@ -117,4 +167,75 @@ class BookControllerTest extends BaseMockMvcTest {
         BookResponse actual = fromJson(result.getResponse().getContentAsString(), BookResponse.class);
         assertThat(actual.isbn()).isEqualTo("9780134685991");
     }
+
+    @Test
+    void slice_200_hasNextWithoutTotals() throws Exception {
+        BookResponse item = new BookResponse(UUID.randomUUID(), "9780134685991", "Effective Java", "Joshua Bloch", false);
+        given(bookService.slice(eq("java"), any())).willReturn(new SliceImpl<>(List.of(item), PageRequest.of(0, 1), true));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/books/slice?search=java&page=0&size=1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String json = result.getResponse().getContentAsString();
+        assertThat(json).contains("\"hasNext\":true").doesNotContain("totalElements");
+    }
+
+    @Test
+    void cursor_200_returnsNextCursor() throws Exception {
+        BookResponse item = new BookResponse(UUID.randomUUID(), "9780134685991", "Effective Java", "Joshua Bloch", false);
+        given(bookService.scroll(eq("java"), eq("abc"), eq(1))).willReturn(new CursorResponse<>(List.of(item), 1, "next"));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/books/cursor?search=java&after=abc&size=1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).contains("\"nextCursor\":\"next\"").contains("Effective Java");
+    }
+
+    @Test
+    void cursor_400_invalidCursor() throws Exception {
+        given(bookService.scroll(any(), eq("bogus"), anyInt())).willThrow(new InvalidCursorException());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/books/cursor?after=bogus"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.code()).isEqualTo("INVALID_CURSOR");
+    }
+
+    @Test
+    void suggest_200() throws Exception {
+        given(bookService.suggest("jav", 5)).willReturn(List.of(new BookSuggestion("Effective Java", BookSuggestion.Kind.TITLE)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/books/suggest?prefix=jav&limit=5"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).contains("\"text\":\"Effective Java\"").contains("\"kind\":\"TITLE\"");
+    }
+
+    @Test
+    void export_200_streamsCsv() throws Exception {
+        doAnswer(inv -> {
+            inv.<java.io.OutputStream>getArgument(1).write("id,isbn,title,author,borrowed\n".getBytes());
+            return null;
+        }).when(exportService).export(eq(BookExportService.Format.CSV), any());
+
+        MvcResult started = mockMvc.perform(get("/api/v1/books/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"books.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,isbn,title,author,borrowed\n"));
+    }
+
+    @Test
+    void export_400_unknownFormat() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/books/export?format=xml"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.code()).isEqualTo("VALIDATION_ERROR");
+        verify(exportService, never()).export(any(), any());
+    }
 }
@@ -1,7 +1,11 @@
 package com.collabera.libraryapi.web.controller;
 
+import com.collabera.libraryapi.core.util.CursorResponse;
+import com.collabera.libraryapi.domain.dto.book.BookResponse;
 import com.collabera.libraryapi.domain.dto.borrower.BorrowerCreateRequest;
 import com.collabera.libraryapi.domain.dto.borrower.BorrowerResponse;
+import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
+import com.collabera.libraryapi.domain.dto.loan.LoanStatus;
 import com.collabera.libraryapi.domain.repository.BorrowerRepository;
 import com.collabera.libraryapi.service.BorrowerService;
 import com.collabera.libraryapi.web.exception.ApiError;
@@ -14,14 +18,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -79,4 +87,37 @@ class BorrowerControllerTest extends BaseMockMvcTest {
         // Ensure service not called
         verify(service, never()).register(any());
     }
+
+    @Test
+    void loans_200_activeFilterAndCursor() throws Exception {
+        UUID borrowerId = UUID.randomUUID();
+        BookResponse book = new BookResponse(UUID.randomUUID(), "9780134685991", "Effective Java", "Joshua Bloch", true);
+        LoanResponse loan = new LoanResponse(UUID.randomUUID(), book,
+                new BorrowerResponse(borrowerId, "Sayan", "sayan@example.com"), Instant.parse("2025-09-20T10:15:30Z"), Instant.parse("2025-10-04T10:15:30Z"), null, null);
+        given(service.loans(borrowerId, LoanStatus.ACTIVE, "abc", 1)).willReturn(new CursorResponse<>(List.of(loan), 1, "next"));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/borrowers/" + borrowerId + "/loans?status=active&after=abc&size=1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).contains("\"nextCursor\":\"next\"").contains("Effective Java");
+    }
+
+    @Test
+    void loans_400_unknownStatus() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/borrowers/" + UUID.randomUUID() + "/loans?status=lost"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.code()).isEqualTo("VALIDATION_ERROR");
+        verify(service, never()).loans(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void loans_400_pageSizeLimit() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/borrowers/" + UUID.randomUUID() + "/loans?size=51"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.code()).isEqualTo("PAGE_SIZE_LIMIT");
+    }
 }
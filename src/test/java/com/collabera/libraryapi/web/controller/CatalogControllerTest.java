@@ -0,0 +1,52 @@
+package com.collabera.libraryapi.web.controller;
+
+import com.collabera.libraryapi.domain.dto.catalog.CatalogResponse;
+import com.collabera.libraryapi.service.CatalogService;
+import com.collabera.libraryapi.web.exception.ApiError;
+import com.collabera.libraryapi.web.exception.CatalogNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogControllerTest extends BaseMockMvcTest {
+    @MockBean
+    private CatalogService catalogService;
+
+    @Test
+    void list_200_withCounters() throws Exception {
+        CatalogResponse item = new CatalogResponse("9780134685991", "Effective Java", "Joshua Bloch", 3, 1);
+        given(catalogService.list(eq(true), any())).willReturn(new PageImpl<>(List.of(item), PageRequest.of(0, 20), 1));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/catalog?available=true"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String json = result.getResponse().getContentAsString();
+        assertThat(json).contains("\"totalCopies\":3").contains("\"availableCopies\":1").contains("\"totalElements\":1");
+    }
+
+    @Test
+    void get_404_unknownIsbn() throws Exception {
+        given(catalogService.get("9780000000000")).willThrow(new CatalogNotFoundException("9780000000000"));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/catalog/9780000000000"))
+                .andExpect(status().isNotFound())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.code()).isEqualTo("CATALOG_NOT_FOUND");
+    }
+}
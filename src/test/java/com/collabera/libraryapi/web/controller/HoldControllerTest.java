@@ -0,0 +1,110 @@
+package com.collabera.libraryapi.web.controller;
+
+import com.collabera.libraryapi.domain.dto.hold.HoldCreateRequest;
+import com.collabera.libraryapi.domain.dto.hold.HoldResponse;
+import com.collabera.libraryapi.domain.entity.Hold.Status;
+import com.collabera.libraryapi.service.HoldService;
+import com.collabera.libraryapi.web.exception.ApiError;
+import com.collabera.libraryapi.web.exception.CopyAvailableException;
+import com.collabera.libraryapi.web.exception.HoldNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class HoldControllerTest extends BaseMockMvcTest {
+    @MockBean
+    private HoldService holdService;
+
+    private final UUID holdId = UUID.randomUUID();
+    private final UUID borrowerId = UUID.randomUUID();
+
+    @Test
+    void place_201() throws Exception {
+        given(holdService.place(any())).willReturn(waiting(2));
+        MvcResult result = mockMvc.perform(post("/api/v1/holds").contentType(json())
+                        .content(toJson(new HoldCreateRequest("978-0-13-468599-1", borrowerId))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        HoldResponse actual = fromJson(result.getResponse().getContentAsString(), HoldResponse.class);
+        assertThat(actual.position()).isEqualTo(2);
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("loanId");
+    }
+
+    @Test
+    void place_400_invalidIsbn() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/holds").contentType(json())
+                        .content(toJson(new HoldCreateRequest("9780134685990", borrowerId))))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.message()).startsWith("isbn:");
+    }
+
+    @Test
+    void place_409_copyAvailable() throws Exception {
+        given(holdService.place(any())).willThrow(new CopyAvailableException("9780134685991"));
+        MvcResult result = mockMvc.perform(post("/api/v1/holds").contentType(json())
+                        .content(toJson(new HoldCreateRequest("9780134685991", borrowerId))))
+                .andExpect(status().isConflict())
+                .andReturn();
+        assertThat(fromJson(result.getResponse().getContentAsString(), ApiError.class).code()).isEqualTo("COPY_AVAILABLE");
+    }
+
+    @Test
+    void get_longPollCapsTheWait() throws Exception {
+        DeferredResult<HoldResponse> deferred = new DeferredResult<>();
+        deferred.setResult(waiting(1));
+        given(holdService.await(eq(holdId), any())).willReturn(deferred);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/holds/{id}", holdId).param("wait", "600"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(fromJson(result.getResponse().getContentAsString(), HoldResponse.class).status()).isEqualTo(Status.WAITING);
+        verify(holdService).await(holdId, Duration.ofSeconds(HoldController.MAX_WAIT_SECONDS));
+    }
+
+    @Test
+    void get_404() throws Exception {
+        given(holdService.await(eq(holdId), any())).willThrow(new HoldNotFoundException(holdId));
+        MvcResult result = mockMvc.perform(get("/api/v1/holds/{id}", holdId))
+                .andExpect(status().isNotFound())
+                .andReturn();
+        assertThat(fromJson(result.getResponse().getContentAsString(), ApiError.class).code()).isEqualTo("HOLD_NOT_FOUND");
+    }
+
+    @Test
+    void cancel_200() throws Exception {
+        HoldResponse cancelled = new HoldResponse(holdId, "9780134685991", borrowerId, Status.CANCELLED, null, null, Instant.now(), null);
+        given(holdService.cancel(holdId)).willReturn(cancelled);
+        MvcResult result = mockMvc.perform(delete("/api/v1/holds/{id}", holdId))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(fromJson(result.getResponse().getContentAsString(), HoldResponse.class).status()).isEqualTo(Status.CANCELLED);
+    }
+
+    private HoldResponse waiting(long position) {
+        return new HoldResponse(holdId, "9780134685991", borrowerId, Status.WAITING, position, null, Instant.now(), null);
+    }
+}
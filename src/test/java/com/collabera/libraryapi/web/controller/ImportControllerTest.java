@@ -0,0 +1,74 @@
+package com.collabera.libraryapi.web.controller;
+
+import com.collabera.libraryapi.domain.dto.imports.ImportJobResponse;
+import com.collabera.libraryapi.service.BookExportService.Format;
+import com.collabera.libraryapi.service.imports.CatalogImportService;
+import com.collabera.libraryapi.web.exception.ApiError;
+import com.collabera.libraryapi.web.exception.ImportJobNotFoundException;
+import com.collabera.libraryapi.web.exception.InvalidImportFileException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImportControllerTest extends BaseMockMvcTest {
+    @MockBean
+    private CatalogImportService importService;
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "books.ndjson", "application/x-ndjson",
+            "{\"isbn\":\"9780134685991\",\"title\":\"Effective Java\",\"author\":\"Joshua Bloch\"}\n".getBytes());
+
+    @Test
+    void start_202_withLocation() throws Exception {
+        UUID id = UUID.randomUUID();
+        ImportJobResponse job = new ImportJobResponse(id, ImportJobResponse.Status.RUNNING, "NDJSON", 0, 0, 0,
+                List.of(), null, Instant.now(), null);
+        given(importService.start(any(), eq(Format.NDJSON))).willReturn(job);
+
+        MvcResult result = mockMvc.perform(multipart("/api/v1/imports").file(file).param("format", "ndjson"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/imports/" + id))
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).contains("\"status\":\"RUNNING\"");
+    }
+
+    @Test
+    void start_400_invalidFile() throws Exception {
+        given(importService.start(any(), eq(Format.CSV))).willThrow(new InvalidImportFileException("CSV header must name isbn, title and author columns"));
+
+        MvcResult result = mockMvc.perform(multipart("/api/v1/imports").file(file))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.code()).isEqualTo("INVALID_IMPORT_FILE");
+    }
+
+    @Test
+    void status_404_unknownJob() throws Exception {
+        UUID id = UUID.randomUUID();
+        given(importService.status(id)).willThrow(new ImportJobNotFoundException(id));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/imports/" + id))
+                .andExpect(status().isNotFound())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.code()).isEqualTo("IMPORT_NOT_FOUND");
+    }
+}
@@ -2,6 +2,7 @@ package com.collabera.libraryapi.web.controller;
 
 import com.collabera.libraryapi.domain.dto.book.BookResponse;
 import com.collabera.libraryapi.domain.dto.borrower.BorrowerResponse;
+import com.collabera.libraryapi.domain.dto.loan.CheckoutRequest;
 import com.collabera.libraryapi.domain.dto.loan.LoanCreateRequest;
 import com.collabera.libraryapi.domain.dto.loan.LoanResponse;
 import com.collabera.libraryapi.service.LoanService;
@@ -15,7 +16,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -45,7 +48,7 @@ class LoanControllerTest extends BaseMockMvcTest {
         LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
         LoanResponse resp = new LoanResponse(UUID.randomUUID(),
                 new BookResponse(bookId, "9780134685991", "Effective Java", "Joshua Bloch", true),
-                new BorrowerResponse(borrowerId, "Sayan", "sayan@example.com"), Instant.now(), null);
+                new BorrowerResponse(borrowerId, "Sayan", "sayan@example.com"), Instant.now(), Instant.now().plus(Duration.ofDays(14)), null, null);
         given(loanService.borrow(any())).willReturn(resp);
         MvcResult result = mockMvc.perform(post("/api/v1/loans").contentType(json()).content(toJson(req)))
                 .andExpect(status().isCreated())
@@ -113,7 +116,7 @@ class LoanControllerTest extends BaseMockMvcTest {
         LoanCreateRequest req = new LoanCreateRequest(bookId, borrowerId);
         LoanResponse resp = new LoanResponse(UUID.randomUUID(),
                 new BookResponse(bookId, "9780134685991", "Effective Java", "Joshua Bloch", false),
-                new BorrowerResponse(borrowerId, "Sayan", "sayan@example.com"), Instant.now(), Instant.now());
+                new BorrowerResponse(borrowerId, "Sayan", "sayan@example.com"), Instant.now(), Instant.now().plus(Duration.ofDays(14)), Instant.now(), null);
         given(loanService.returnBook(any())).willReturn(resp);
         MvcResult result = mockMvc.perform(post("/api/v1/loans/return").contentType(json()).content(toJson(req)))
                 .andExpect(status().isOk())
@@ -157,4 +160,54 @@ class LoanControllerTest extends BaseMockMvcTest {
         ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
         assertThat(error.code()).isEqualTo("WRONG_BORROWER");
     }
+
+    // Checkout tests
+    private static Stream<Arguments> invalidCheckout() {
+        UUID book = UUID.randomUUID();
+        List<UUID> tooMany = Stream.generate(UUID::randomUUID).limit(CheckoutRequest.MAX_BOOKS + 1).toList();
+        return Stream.of(
+                Arguments.of(new CheckoutRequest(null, List.of(book)), "borrowerId: Borrower ID is required"),
+                Arguments.of(new CheckoutRequest(UUID.randomUUID(), List.of()), "bookIds: Book IDs cannot be empty"),
+                Arguments.of(new CheckoutRequest(UUID.randomUUID(), tooMany), "bookIds: At most " + CheckoutRequest.MAX_BOOKS),
+                Arguments.of(new CheckoutRequest(UUID.randomUUID(), List.of(book, book)), "Book IDs must be distinct")
+        );
+    }
+
+    @Test
+    void checkout_201() throws Exception {
+        UUID borrowerId = UUID.randomUUID();
+        List<UUID> bookIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        BorrowerResponse borrower = new BorrowerResponse(borrowerId, "Sayan", "sayan@example.com");
+        List<LoanResponse> resp = bookIds.stream().map(id -> new LoanResponse(UUID.randomUUID(),
+                new BookResponse(id, "9780134685991", "Effective Java", "Joshua Bloch", true), borrower, Instant.now(), Instant.now().plus(Duration.ofDays(14)), null, null)).toList();
+        given(loanService.checkout(any())).willReturn(resp);
+        MvcResult result = mockMvc.perform(post("/api/v1/loans/checkout").contentType(json())
+                        .content(toJson(new CheckoutRequest(borrowerId, bookIds))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        LoanResponse[] actual = fromJson(result.getResponse().getContentAsString(), LoanResponse[].class);
+        assertThat(actual).extracting(l -> l.book().id()).containsExactlyElementsOf(bookIds);
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidCheckout")
+    void checkout_400_validation(CheckoutRequest req, String expectedPart) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/loans/checkout").contentType(json()).content(toJson(req)))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.message()).contains(expectedPart);
+    }
+
+    @Test
+    void checkout_409_alreadyBorrowed() throws Exception {
+        UUID bookId = UUID.randomUUID();
+        given(loanService.checkout(any())).willThrow(new BookAlreadyBorrowedException(bookId));
+        MvcResult result = mockMvc.perform(post("/api/v1/loans/checkout").contentType(json())
+                        .content(toJson(new CheckoutRequest(UUID.randomUUID(), List.of(bookId)))))
+                .andExpect(status().isConflict())
+                .andReturn();
+        ApiError error = fromJson(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.code()).isEqualTo("BOOK_ALREADY_BORROWED");
+    }
 }